@@ -0,0 +1,117 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.analytics;
+
+/**
+ * Fixed-width histogram for computing percentiles of a stream without keeping the samples.
+ *
+ * <p>Values above the top of the range land in the last bin, so percentiles there are clamped to
+ * the range. The exact maximum and mean are tracked separately. Samples can be weighted, such as by
+ * how long a logged value held, and percentiles and the mean then use the weights.
+ */
+public class Histogram {
+  private final double binWidth;
+  private final double[] bins;
+  private long count = 0;
+  private double totalWeight = 0;
+  private double sum = 0;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  /**
+   * Creates a histogram covering 0 to {@code range}.
+   *
+   * @param range Upper end of the range.
+   * @param binWidth Width of each bin, which is also the resolution of the percentiles.
+   */
+  public Histogram(double range, double binWidth) {
+    this.binWidth = binWidth;
+    bins = new double[(int) Math.ceil(range / binWidth) + 1];
+  }
+
+  /**
+   * Add a sample. Negative samples are counted in the first bin.
+   *
+   * @param value The sample.
+   */
+  public void add(double value) {
+    add(value, 1);
+  }
+
+  /**
+   * Add a weighted sample. Negative samples are counted in the first bin, and samples without
+   * weight are ignored.
+   *
+   * @param value The sample.
+   * @param weight How much the sample counts, such as the time it held for.
+   */
+  public void add(double value, double weight) {
+    if (!(weight > 0)) {
+      return;
+    }
+    int bin = (int) (value / binWidth);
+    bins[Math.max(0, Math.min(bins.length - 1, bin))] += weight;
+    count++;
+    totalWeight += weight;
+    sum += value * weight;
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Estimate a percentile from the bins.
+   *
+   * @param quantile The quantile, from 0 to 1.
+   * @return The upper edge of the bin holding the quantile, or NaN if there are no samples.
+   */
+  public double percentile(double quantile) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    double target = quantile * totalWeight;
+    double seen = 0;
+    for (int i = 0; i < bins.length; i++) {
+      seen += bins[i];
+      if (seen > 0 && seen >= target) {
+        return Math.min((i + 1) * binWidth, max);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Get the number of samples.
+   *
+   * @return The sample count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Get the total weight of the samples.
+   *
+   * @return The sum of the weights, which is the sample count if none were weighted.
+   */
+  public double getTotalWeight() {
+    return totalWeight;
+  }
+
+  /**
+   * Get the weighted mean of the samples.
+   *
+   * @return The mean, or NaN if there are no samples.
+   */
+  public double getMean() {
+    return count == 0 ? Double.NaN : sum / totalWeight;
+  }
+
+  /**
+   * Get the largest sample.
+   *
+   * @return The maximum, or NaN if there are no samples.
+   */
+  public double getMax() {
+    return count == 0 ? Double.NaN : max;
+  }
+}
@@ -0,0 +1,155 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.analytics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command-line tool that summarizes a directory of match logs.
+ *
+ * <p>Every {@code .wpilog} file under the directory is analyzed by a {@link MatchAnalyzer} on a
+ * fork-join pool sized to the machine. The KPIs are printed as a table and written to a CSV file.
+ *
+ * <p>Run with {@code ./gradlew analyzeLogs -PlogDir=/path/to/logs}.
+ */
+public final class LogAnalyzer {
+  private LogAnalyzer() {}
+
+  /** The outcome of analyzing one file. */
+  private static class Result {
+    private final Path file;
+    private final MatchSummary summary;
+    private final String error;
+
+    private Result(Path file, MatchSummary summary, String error) {
+      this.file = file;
+      this.summary = summary;
+      this.error = error;
+    }
+  }
+
+  /**
+   * Analyze a directory of logs.
+   *
+   * @param args The log directory, and optionally the CSV file to write. The CSV defaults to {@code
+   *     summary.csv} in the log directory.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    if (args.length < 1) {
+      System.err.println("Usage: LogAnalyzer <log directory> [summary csv]");
+      System.exit(1);
+    }
+    Path directory = Paths.get(args[0]);
+    Path csv = args.length > 1 ? Paths.get(args[1]) : directory.resolve("summary.csv");
+
+    List<Path> files;
+    try (Stream<Path> paths = Files.walk(directory)) {
+      files =
+          paths
+              .filter(Files::isRegularFile)
+              .filter(path -> path.toString().endsWith(".wpilog"))
+              .sorted()
+              .collect(Collectors.toList());
+    }
+    if (files.isEmpty()) {
+      System.err.println("No .wpilog files found in " + directory);
+      System.exit(1);
+    }
+
+    long start = System.nanoTime();
+    ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    List<Result> results;
+    try {
+      // Parallel streams run on the pool that submitted them
+      results = pool.submit(() -> analyzeAll(files)).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Log analysis failed", e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    List<MatchSummary> summaries = new ArrayList<>();
+    for (Result result : results) {
+      if (result.summary != null) {
+        summaries.add(result.summary);
+      } else {
+        System.err.println("Skipped " + result.file + ": " + result.error);
+      }
+    }
+    summaries.sort(
+        Comparator.comparing(MatchSummary::event)
+            .thenComparingLong(MatchSummary::match)
+            .thenComparing(MatchSummary::file));
+
+    printTable(summaries, System.out);
+    writeCsv(summaries, csv);
+    System.out.printf(
+        "%nAnalyzed %d logs in %.1f s on %d threads, summary written to %s%n",
+        summaries.size(), seconds, pool.getParallelism(), csv);
+  }
+
+  private static List<Result> analyzeAll(List<Path> files) {
+    return files.parallelStream().map(LogAnalyzer::analyze).collect(Collectors.toList());
+  }
+
+  private static Result analyze(Path file) {
+    try {
+      return new Result(file, MatchAnalyzer.analyze(file), null);
+    } catch (IOException | RuntimeException e) {
+      return new Result(file, null, e.getMessage());
+    }
+  }
+
+  private static void printTable(List<MatchSummary> summaries, PrintStream out) {
+    int[] widths = new int[MatchSummary.HEADERS.length];
+    List<String[]> rows = new ArrayList<>();
+    rows.add(MatchSummary.HEADERS);
+    for (MatchSummary summary : summaries) {
+      rows.add(summary.columns());
+    }
+    for (String[] row : rows) {
+      for (int i = 0; i < row.length; i++) {
+        widths[i] = Math.max(widths[i], row[i].length());
+      }
+    }
+    for (String[] row : rows) {
+      StringBuilder line = new StringBuilder();
+      for (int i = 0; i < row.length; i++) {
+        // Left align the file and event names, right align the numbers
+        String format = i < 2 ? "%-" + widths[i] + "s  " : "%" + widths[i] + "s  ";
+        line.append(String.format(format, row[i]));
+      }
+      out.println(line.toString().stripTrailing());
+    }
+  }
+
+  private static void writeCsv(List<MatchSummary> summaries, Path csv) throws IOException {
+    try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(csv))) {
+      writer.println(String.join(",", MatchSummary.HEADERS));
+      for (MatchSummary summary : summaries) {
+        String[] columns = summary.columns();
+        for (int i = 0; i < columns.length; i++) {
+          if (columns[i].contains(",") || columns[i].contains("\"")) {
+            columns[i] = "\"" + columns[i].replace("\"", "\"\"") + "\"";
+          }
+        }
+        writer.println(String.join(",", columns));
+      }
+    }
+  }
+}
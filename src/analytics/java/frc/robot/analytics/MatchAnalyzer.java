@@ -0,0 +1,292 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.analytics;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import frc.robot.Constants.AlertContants;
+import frc.robot.Constants.ProfilerConstants;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes the KPIs for one match log in a single pass.
+ *
+ * <p>{@link DataLogReader} memory-maps the file and decodes one record at a time, so only the
+ * entries this analyzer cares about are ever turned into values. Percentiles come from {@link
+ * Histogram}s, so memory use does not grow with the length of the match.
+ *
+ * <p>AdvantageKit only writes a field when its value changes, so a stopped robot logs one zero
+ * while a moving one logs a value every loop. Drive speed and flywheel output are therefore
+ * weighted by how long each value held while enabled, up to the next record of the same field or
+ * the end of the enabled period. Loop times are written every loop and count once each.
+ */
+public class MatchAnalyzer {
+  // AdvantageKit log keys, without the leading slash
+  private static final String ENABLED = "DriverStation/Enabled";
+  private static final String EVENT_NAME = "DriverStation/EventName";
+  private static final String MATCH_NUMBER = "DriverStation/MatchNumber";
+  private static final String LOOP_PROFILE = "RealOutputs/LoopProfile/TotalMs";
+  private static final String LOOP_FULL_CYCLE = "RealOutputs/LoggedRobot/FullCycleMS";
+  private static final String BROWNED_OUT = "SystemStats/BrownedOut";
+  private static final String CAN_RX_ERRORS = "SystemStats/CANBus/ReceiveErrorCount";
+  private static final String CAN_TX_ERRORS = "SystemStats/CANBus/TransmitErrorCount";
+  private static final String AUTO_COMPLETION = "RealOutputs/Auto/CompletionTimeSeconds";
+  private static final String DRIVE_SPEED = "RealOutputs/Drive/SpeedMetersPerSecond";
+  private static final String FLYWHEEL_OUTPUT = "Conveyor/FlywheelAppliedOutput";
+
+  private static final double FLYWHEEL_ON_OUTPUT = 0.05; // duty cycle counted as spinning
+
+  private enum Signal {
+    ENABLED,
+    EVENT_NAME,
+    MATCH_NUMBER,
+    LOOP_PROFILE,
+    LOOP_FULL_CYCLE,
+    BROWNED_OUT,
+    CAN_RX_ERRORS,
+    CAN_TX_ERRORS,
+    AUTO_COMPLETION,
+    DRIVE_SPEED,
+    FLYWHEEL_OUTPUT
+  }
+
+  private static final Map<String, Signal> SIGNALS =
+      Map.ofEntries(
+          Map.entry(ENABLED, Signal.ENABLED),
+          Map.entry(EVENT_NAME, Signal.EVENT_NAME),
+          Map.entry(MATCH_NUMBER, Signal.MATCH_NUMBER),
+          Map.entry(LOOP_PROFILE, Signal.LOOP_PROFILE),
+          Map.entry(LOOP_FULL_CYCLE, Signal.LOOP_FULL_CYCLE),
+          Map.entry(BROWNED_OUT, Signal.BROWNED_OUT),
+          Map.entry(CAN_RX_ERRORS, Signal.CAN_RX_ERRORS),
+          Map.entry(CAN_TX_ERRORS, Signal.CAN_TX_ERRORS),
+          Map.entry(AUTO_COMPLETION, Signal.AUTO_COMPLETION),
+          Map.entry(DRIVE_SPEED, Signal.DRIVE_SPEED),
+          Map.entry(FLYWHEEL_OUTPUT, Signal.FLYWHEEL_OUTPUT));
+
+  /** A tracked entry in the log. */
+  private static class Entry {
+    private final Signal signal;
+    private final String type;
+
+    private Entry(Signal signal, String type) {
+      this.signal = signal;
+      this.type = type;
+    }
+  }
+
+  /** The last logged value of a field, counted by how long it held while the robot was enabled. */
+  private static class HeldValue {
+    private final Histogram histogram;
+    private double value = Double.NaN;
+    private long since = 0;
+
+    private HeldValue(Histogram histogram) {
+      this.histogram = histogram;
+    }
+
+    /**
+     * Add the value to the histogram for the time since it was last counted.
+     *
+     * @return Microseconds counted, 0 if the robot was disabled or there is no value yet.
+     */
+    private long addUntil(long timestamp, boolean enabled) {
+      long micros = timestamp - since;
+      since = timestamp;
+      if (!enabled || Double.isNaN(value) || micros <= 0) {
+        return 0;
+      }
+      histogram.add(value, micros);
+      return micros;
+    }
+  }
+
+  private final Path file;
+  private final Map<Integer, Entry> entries = new HashMap<>();
+
+  private final Histogram profileLoopMs = new Histogram(200, 0.1);
+  private final Histogram fullCycleLoopMs = new Histogram(200, 0.1);
+  private final Histogram driveSpeed = new Histogram(8, 0.01);
+  private final Histogram flywheelOutput = new Histogram(1, 0.01);
+  private final HeldValue heldDriveSpeed = new HeldValue(driveSpeed);
+  private final HeldValue heldFlywheelOutput = new HeldValue(flywheelOutput);
+
+  private long profileOverruns = 0;
+  private long fullCycleOverruns = 0;
+  private String eventName = "";
+  private long matchNumber = 0;
+  private boolean enabled = false;
+  private long enabledSince = 0;
+  private long enabledMicros = 0;
+  private boolean brownedOut = false;
+  private int brownouts = 0;
+  private long lastCanErrorMicros = -1;
+  private int canAlerts = 0;
+  private double autoCompletionSeconds = Double.NaN;
+  private long flywheelOnMicros = 0;
+  private long lastTimestamp = 0;
+
+  private MatchAnalyzer(Path file) {
+    this.file = file;
+  }
+
+  /**
+   * Analyze one log file.
+   *
+   * @param file Path to a {@code .wpilog} file.
+   * @return The KPIs for the match.
+   * @throws IOException If the file cannot be read or is not a valid log.
+   */
+  public static MatchSummary analyze(Path file) throws IOException {
+    return new MatchAnalyzer(file).run();
+  }
+
+  private MatchSummary run() throws IOException {
+    DataLogReader reader = new DataLogReader(file.toString());
+    if (!reader.isValid()) {
+      throw new IOException("Not a valid WPILOG file: " + file);
+    }
+    for (DataLogRecord record : reader) {
+      if (record.isStart()) {
+        DataLogRecord.StartRecordData start = record.getStartData();
+        String name = start.name.startsWith("/") ? start.name.substring(1) : start.name;
+        Signal signal = SIGNALS.get(name);
+        if (signal != null) {
+          entries.put(start.entry, new Entry(signal, start.type));
+        }
+      } else if (!record.isControl()) {
+        lastTimestamp = record.getTimestamp();
+        Entry entry = entries.get(record.getEntry());
+        if (entry != null) {
+          handle(entry, record);
+        }
+      }
+    }
+    holdUntil(lastTimestamp);
+    if (enabled) {
+      enabledMicros += lastTimestamp - enabledSince;
+    }
+
+    boolean profiled = profileLoopMs.getCount() > 0;
+    Histogram loopMs = profiled ? profileLoopMs : fullCycleLoopMs;
+    return new MatchSummary(
+        file.getFileName().toString(),
+        eventName,
+        matchNumber,
+        enabledMicros / 1e6,
+        loopMs.percentile(0.50),
+        loopMs.percentile(0.95),
+        loopMs.percentile(0.99),
+        loopMs.getMax(),
+        profiled ? profileOverruns : fullCycleOverruns,
+        brownouts,
+        canAlerts,
+        autoCompletionSeconds,
+        driveSpeed.percentile(0.50),
+        driveSpeed.percentile(0.95),
+        driveSpeed.getMax(),
+        flywheelOutput.getCount() == 0
+            ? 0
+            : flywheelOnMicros / flywheelOutput.getTotalWeight(),
+        flywheelOutput.getMean());
+  }
+
+  private void handle(Entry entry, DataLogRecord record) {
+    long timestamp = record.getTimestamp();
+    switch (entry.signal) {
+      case ENABLED:
+        holdUntil(timestamp);
+        boolean nowEnabled = record.getBoolean();
+        if (nowEnabled && !enabled) {
+          enabledSince = timestamp;
+        } else if (!nowEnabled && enabled) {
+          enabledMicros += timestamp - enabledSince;
+        }
+        enabled = nowEnabled;
+        break;
+      case EVENT_NAME:
+        eventName = record.getString();
+        break;
+      case MATCH_NUMBER:
+        matchNumber = (long) number(entry, record);
+        break;
+      case LOOP_PROFILE:
+        double profileMs = number(entry, record);
+        profileLoopMs.add(profileMs);
+        if (profileMs > ProfilerConstants.LOOP_BUDGET_MS) {
+          profileOverruns++;
+        }
+        break;
+      case LOOP_FULL_CYCLE:
+        double fullCycleMs = number(entry, record);
+        fullCycleLoopMs.add(fullCycleMs);
+        if (fullCycleMs > ProfilerConstants.LOOP_BUDGET_MS) {
+          fullCycleOverruns++;
+        }
+        break;
+      case BROWNED_OUT:
+        boolean nowBrownedOut = record.getBoolean();
+        if (nowBrownedOut && !brownedOut) {
+          brownouts++;
+        }
+        brownedOut = nowBrownedOut;
+        break;
+      case CAN_RX_ERRORS:
+      case CAN_TX_ERRORS:
+        // Same rule as the robot's CAN alert: any error raises it, and it clears after a quiet
+        // period, so a new alert starts when errors follow a quiet period
+        if (number(entry, record) > 0) {
+          if (lastCanErrorMicros < 0
+              || timestamp - lastCanErrorMicros > AlertContants.CAN_ALERT_TIME * 1e6) {
+            canAlerts++;
+          }
+          lastCanErrorMicros = timestamp;
+        }
+        break;
+      case AUTO_COMPLETION:
+        autoCompletionSeconds = number(entry, record);
+        break;
+      case DRIVE_SPEED:
+        holdUntil(timestamp);
+        heldDriveSpeed.value = number(entry, record);
+        break;
+      case FLYWHEEL_OUTPUT:
+        holdUntil(timestamp);
+        heldFlywheelOutput.value = Math.abs(number(entry, record));
+        break;
+    }
+  }
+
+  /**
+   * Count the held drive speed and flywheel output up to a timestamp, if the robot was enabled.
+   * Call before any of them or the enabled state changes.
+   */
+  private void holdUntil(long timestamp) {
+    heldDriveSpeed.addUntil(timestamp, enabled);
+    long flywheelMicros = heldFlywheelOutput.addUntil(timestamp, enabled);
+    if (heldFlywheelOutput.value > FLYWHEEL_ON_OUTPUT) {
+      flywheelOnMicros += flywheelMicros;
+    }
+  }
+
+  /** Read a numeric record regardless of how it was logged. */
+  private static double number(Entry entry, DataLogRecord record) {
+    switch (entry.type) {
+      case "double":
+        return record.getDouble();
+      case "float":
+        return record.getFloat();
+      case "int64":
+        return record.getInteger();
+      case "boolean":
+        return record.getBoolean() ? 1 : 0;
+      default:
+        return Double.NaN;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.analytics;
+
+/**
+ * KPIs for one match log.
+ *
+ * @param file Log file name.
+ * @param event Event name reported by the FMS, empty off the field.
+ * @param match Match number reported by the FMS, 0 off the field.
+ * @param enabledSeconds Total time the robot was enabled.
+ * @param loopP50Ms Median loop time.
+ * @param loopP95Ms 95th percentile loop time.
+ * @param loopP99Ms 99th percentile loop time.
+ * @param loopMaxMs Longest loop.
+ * @param loopOverruns Loops over the loop budget.
+ * @param brownouts Times the roboRIO entered brownout.
+ * @param canAlerts Times the CAN bus alert would have been raised.
+ * @param autoCompletionSeconds Time the autonomous command took to finish, NaN if it did not.
+ * @param driveSpeedP50 Median drive speed over the enabled time, in meters per second.
+ * @param driveSpeedP95 95th percentile drive speed over the enabled time, in meters per second.
+ * @param driveSpeedMax Top drive speed while enabled, in meters per second.
+ * @param flywheelDuty Fraction of enabled time the flywheel was spinning.
+ * @param flywheelMeanOutput Mean flywheel duty cycle over the enabled time.
+ */
+public record MatchSummary(
+    String file,
+    String event,
+    long match,
+    double enabledSeconds,
+    double loopP50Ms,
+    double loopP95Ms,
+    double loopP99Ms,
+    double loopMaxMs,
+    long loopOverruns,
+    int brownouts,
+    int canAlerts,
+    double autoCompletionSeconds,
+    double driveSpeedP50,
+    double driveSpeedP95,
+    double driveSpeedMax,
+    double flywheelDuty,
+    double flywheelMeanOutput) {
+
+  /** Column headers, in the order of {@link #columns()}. */
+  public static final String[] HEADERS = {
+    "File",
+    "Event",
+    "Match",
+    "Enabled s",
+    "Loop p50 ms",
+    "Loop p95 ms",
+    "Loop p99 ms",
+    "Loop max ms",
+    "Overruns",
+    "Brownouts",
+    "CAN alerts",
+    "Auto done s",
+    "Speed p50",
+    "Speed p95",
+    "Speed max",
+    "Flywheel duty",
+    "Flywheel mean"
+  };
+
+  /**
+   * Format the summary as table cells.
+   *
+   * @return One formatted cell per header in {@link #HEADERS}.
+   */
+  public String[] columns() {
+    return new String[] {
+      file,
+      event,
+      Long.toString(match),
+      format(enabledSeconds, 1),
+      format(loopP50Ms, 1),
+      format(loopP95Ms, 1),
+      format(loopP99Ms, 1),
+      format(loopMaxMs, 1),
+      Long.toString(loopOverruns),
+      Integer.toString(brownouts),
+      Integer.toString(canAlerts),
+      format(autoCompletionSeconds, 2),
+      format(driveSpeedP50, 2),
+      format(driveSpeedP95, 2),
+      format(driveSpeedMax, 2),
+      format(flywheelDuty * 100, 0) + "%",
+      format(flywheelMeanOutput, 2)
+    };
+  }
+
+  private static String format(double value, int decimals) {
+    return Double.isNaN(value) ? "-" : String.format("%." + decimals + "f", value);
+  }
+}
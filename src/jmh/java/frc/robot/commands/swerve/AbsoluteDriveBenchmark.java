@@ -0,0 +1,81 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.commands.swerve;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.Constants;
+import frc.robot.subsystems.swerve.SwerveIOYAGSL;
+import frc.robot.subsystems.swerve.SwerveSubsystem;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import swervelib.math.SwerveMath;
+
+/**
+ * Cost of one loop of the teleop drive commands against the simulated drivebase, and of the
+ * velocity limiting they both do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AbsoluteDriveBenchmark {
+  private SwerveSubsystem drivebase;
+  private AbsoluteDrive absoluteDrive;
+  private AbsoluteDriveAdv absoluteDriveAdv;
+  private Translation2d commanded;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+    drivebase =
+        new SwerveSubsystem(
+            new File(Filesystem.getDeployDirectory(), "swerve"), SwerveIOYAGSL::new);
+    absoluteDrive = new AbsoluteDrive(drivebase, () -> 0.5, () -> 0.25, () -> 0.3, () -> 0.9);
+    absoluteDriveAdv =
+        new AbsoluteDriveAdv(
+            drivebase,
+            () -> 0.5,
+            () -> 0.25,
+            () -> 0.2,
+            () -> false,
+            () -> false,
+            () -> true,
+            () -> false);
+    absoluteDrive.initialize();
+    absoluteDriveAdv.initialize();
+    commanded = new Translation2d(2.0, 1.0);
+  }
+
+  @Benchmark
+  public void absoluteDriveExecute() {
+    absoluteDrive.execute();
+  }
+
+  @Benchmark
+  public void absoluteDriveAdvExecute() {
+    absoluteDriveAdv.execute();
+  }
+
+  @Benchmark
+  public Translation2d limitVelocity() {
+    return SwerveMath.limitVelocity(
+        commanded,
+        drivebase.getFieldVelocity(),
+        drivebase.getPose(),
+        Constants.LOOP_TIME,
+        Constants.ROBOT_MASS,
+        List.of(Constants.CHASSIS),
+        drivebase.getSwerveDriveConfiguration());
+  }
+}
@@ -0,0 +1,47 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.swerve;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.Filesystem;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Cost of turning joystick input into chassis speeds on the simulated drivebase. */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SwerveSubsystemBenchmark {
+  private SwerveSubsystem drivebase;
+  private Rotation2d angle;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+    drivebase =
+        new SwerveSubsystem(
+            new File(Filesystem.getDeployDirectory(), "swerve"), SwerveIOYAGSL::new);
+    angle = Rotation2d.fromDegrees(30);
+  }
+
+  @Benchmark
+  public ChassisSpeeds getTargetSpeedsHeading() {
+    return drivebase.getTargetSpeeds(0.5, 0.25, 0.3, 0.9);
+  }
+
+  @Benchmark
+  public ChassisSpeeds getTargetSpeedsAngle() {
+    return drivebase.getTargetSpeeds(0.5, 0.25, angle);
+  }
+}
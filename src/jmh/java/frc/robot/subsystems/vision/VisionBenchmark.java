@@ -0,0 +1,145 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import frc.robot.Constants.VisionConstants.Limelight;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.photonvision.common.dataflow.structures.Packet;
+import org.photonvision.targeting.MultiTargetPNPResult;
+import org.photonvision.targeting.PNPResult;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+import org.photonvision.targeting.TargetCorner;
+
+/**
+ * Cost of processing limelight frames: decoding a serialized result into a {@link CameraFrame} on
+ * the worker, and fusing single and multi-tag observations into a vision measurement. The frames
+ * are synthetic views of the blue speaker tags from 2.5 meters out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisionBenchmark {
+  private static final int[] SPEAKER_TAGS = {7, 8};
+  private static final double LATENCY_MS = 25;
+
+  private byte[] multiTagFrame;
+  private AprilTagFieldLayout layout;
+  private CameraFrame multiTagObservation;
+  private final CameraIO.CameraIOInputs multiTagInputs = new CameraIO.CameraIOInputs();
+  private final CameraIO.CameraIOInputs singleTagInputs = new CameraIO.CameraIOInputs();
+  private CameraPoseFusion fusion;
+  private VisionCamera camera;
+  private Pose2d odometryPose;
+  private double timestamp = 1;
+  private Pose2d lastMeasurement;
+
+  private final CameraPoseFusion.MeasurementConsumer consumer =
+      (pose, time, stdDevs) -> lastMeasurement = pose;
+
+  @Setup
+  public void setup() {
+    layout = AprilTagFields.k2024Crescendo.loadAprilTagLayoutField();
+    Transform3d robotToCamera = Limelight.ROBOT_TO_CAMERA;
+    Pose3d robotPose = new Pose3d(2.5, 5.5, 0, new Rotation3d());
+    Pose3d fieldToCamera = robotPose.transformBy(robotToCamera);
+    odometryPose = robotPose.toPose2d();
+
+    List<PhotonTrackedTarget> targets = new ArrayList<>();
+    List<Integer> ids = new ArrayList<>();
+    for (int id : SPEAKER_TAGS) {
+      Transform3d cameraToTag = new Transform3d(fieldToCamera, layout.getTagPose(id).get());
+      targets.add(target(id, cameraToTag));
+      ids.add(id);
+    }
+    PhotonPipelineResult multiTagResult =
+        new PhotonPipelineResult(
+            LATENCY_MS,
+            targets,
+            new MultiTargetPNPResult(
+                new PNPResult(new Transform3d(new Pose3d(), fieldToCamera), 0.1), ids));
+    PhotonPipelineResult singleTagResult =
+        new PhotonPipelineResult(LATENCY_MS, targets.subList(0, 1));
+
+    Packet packet = new Packet(multiTagResult.getPacketSize());
+    PhotonPipelineResult.serde.pack(packet, multiTagResult);
+    multiTagFrame = packet.getWrittenDataCopy();
+
+    multiTagObservation = CameraFrame.fromResult(multiTagResult, 1, robotToCamera, layout);
+    multiTagObservation.copyTo(multiTagInputs, 0);
+    CameraFrame.fromResult(singleTagResult, 1, robotToCamera, layout).copyTo(singleTagInputs, 0);
+
+    fusion = new CameraPoseFusion(Limelight.NAME, layout);
+    camera =
+        new VisionCamera(
+            Limelight.NAME,
+            new CameraIO() {
+              @Override
+              public void updateInputs(CameraIOInputs inputs) {
+                inputs.connected = true;
+                multiTagObservation.copyTo(inputs, 0);
+                inputs.timestamps[0] = nextTimestamp();
+                inputs.frameCount = 1;
+              }
+            },
+            new CameraPoseFusion(Limelight.NAME, layout));
+  }
+
+  private static PhotonTrackedTarget target(int id, Transform3d cameraToTag) {
+    List<TargetCorner> corners =
+        List.of(
+            new TargetCorner(600, 300),
+            new TargetCorner(680, 300),
+            new TargetCorner(680, 380),
+            new TargetCorner(600, 380));
+    return new PhotonTrackedTarget(
+        0, 0, 1.5, 0, id, cameraToTag, cameraToTag, 0.05, corners, corners);
+  }
+
+  /** Each frame gets a new capture time, as it would on the robot. */
+  private double nextTimestamp() {
+    timestamp += 0.02;
+    return timestamp;
+  }
+
+  /** Worker-side cost of one frame: deserializing it and solving the pose estimate. */
+  @Benchmark
+  public CameraFrame decode() {
+    return CameraFrame.decode(multiTagFrame, nextTimestamp(), Limelight.ROBOT_TO_CAMERA, layout);
+  }
+
+  @Benchmark
+  public boolean fuseMultiTag() {
+    multiTagInputs.timestamps[0] = nextTimestamp();
+    return fusion.process(multiTagInputs, 0, odometryPose, consumer);
+  }
+
+  @Benchmark
+  public boolean fuseSingleTag() {
+    singleTagInputs.timestamps[0] = nextTimestamp();
+    return fusion.process(singleTagInputs, 0, odometryPose, consumer);
+  }
+
+  /** One frame through the whole main-loop path: inputs, logging and fusion. */
+  @Benchmark
+  public int cameraPeriodic() {
+    return camera.periodic(odometryPose, consumer);
+  }
+}
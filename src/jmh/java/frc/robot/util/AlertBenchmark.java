@@ -0,0 +1,61 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.util.Alert.AlertType;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of publishing an alert group. NetworkTables reads every array every loop, so the unchanged
+ * case is the one that runs most.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AlertBenchmark {
+  private static final String GROUP = "Benchmark";
+
+  private Alert.SendableAlerts group;
+  private Alert toggled;
+  private boolean toggledActive = false;
+
+  @Setup
+  public void setup() {
+    HAL.initialize(500, 0);
+    for (int i = 0; i < 4; i++) {
+      new Alert(GROUP, "Error " + i, AlertType.ERROR).set(true);
+      new Alert(GROUP, "Warning " + i, AlertType.WARNING).set(true);
+      new Alert(GROUP, "Info " + i, AlertType.INFO).set(true);
+    }
+    toggled = new Alert(GROUP, "Toggled warning", AlertType.WARNING);
+    group = Alert.getGroup(GROUP);
+  }
+
+  /** All three arrays with no alert changing, as in almost every loop. */
+  @Benchmark
+  public int getStringsUnchanged() {
+    return group.getStrings(AlertType.ERROR).length
+        + group.getStrings(AlertType.WARNING).length
+        + group.getStrings(AlertType.INFO).length;
+  }
+
+  /** All three arrays after one alert changed state, which rebuilds one array. */
+  @Benchmark
+  public int getStringsAfterChange() {
+    toggledActive = !toggledActive;
+    toggled.set(toggledActive);
+    return group.getStrings(AlertType.ERROR).length
+        + group.getStrings(AlertType.WARNING).length
+        + group.getStrings(AlertType.INFO).length;
+  }
+}
@@ -5,8 +5,13 @@
 package frc.robot;
 
 import com.pathplanner.lib.util.PIDConstants;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Transform3d;
 import edu.wpi.first.math.geometry.Translation3d;
 import edu.wpi.first.math.util.Units;
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.util.FilteredNT4Publisher.Profile;
+import frc.robot.util.RobotLog.Level;
 import swervelib.math.Matter;
 
 /**
@@ -23,6 +28,24 @@ public final class Constants {
   public static final Matter CHASSIS =
       new Matter(new Translation3d(0, 0, Units.inchesToMeters(8)), ROBOT_MASS);
   public static final double LOOP_TIME = 0.13; // s, 20ms + 110ms sprk max velocity lag
+  public static final double LOOP_PERIOD = 0.02; // s, the LoggedRobot period
+
+  // Simulation replays a log instead of simulating when AKIT_LOG_PATH points at one
+  public static final Mode SIM_MODE =
+      System.getenv("AKIT_LOG_PATH") != null ? Mode.REPLAY : Mode.SIM;
+  public static final Mode CURRENT_MODE = RobotBase.isReal() ? Mode.REAL : SIM_MODE;
+
+  /** Which IO implementations the robot runs with. */
+  public static enum Mode {
+    /** Running on a real robot. */
+    REAL,
+
+    /** Running a physics simulator. */
+    SIM,
+
+    /** Replaying from a log file. */
+    REPLAY
+  }
 
   /**
    * Constants for hardware devices on the robot.
@@ -33,6 +56,12 @@ public final class Constants {
   public final class HardwareConstants {
     public static final int REV_PDH_ID = 60;
     public static final int REV_PCM_ID = 61;
+    public static final double OUTPUT_TOLERANCE = 1e-3; // setpoint change treated as unchanged
+    public static final double OUTPUT_REFRESH_INTERVAL = 0.5; // s between keep-alive writes
+    // Roughly the 8-byte extended frames a 1 Mbit/s bus carries per second, with bit stuffing
+    public static final double CAN_FRAME_CAPACITY = 7500;
+    public static final double CANCODER_POSITION_HZ = 50;
+    public static final double CANCODER_HEALTH_HZ = 4;
 
     public static final class PneumaticsChannels {
       public static final int DUMP_OUT = 15;
@@ -47,6 +76,9 @@ public final class Constants {
    * behavior to match the physical properties of each mechanism.
    */
   public static final class MechanismConstants {
+    public static final double NEO_FREE_SPEED_RPM = 5676;
+    // Fraction of free speed at which a roller counts as started and its current is trusted
+    public static final double SPUN_UP_FRACTION = 0.8;
 
     /**
      * Intake subsystem constants. These constants should be used to tune the intake's behavior to
@@ -59,6 +91,13 @@ public final class Constants {
       public static final boolean INTAKE_FRONT_INVERTED = true;
       public static final double INTAKE_FRONT_SPEED = 0.2;
       public static final double INTAKE_SUSHI_SPEED = 0.8;
+      // Sushi roller current and slowdown while a note is squeezed through it
+      public static final double NOTE_CURRENT_AMPS = 25.0;
+      public static final double NOTE_SPEED_FRACTION = 0.75; // of the free speed for the output
+      public static final double NOTE_DEBOUNCE = 0.1; // s stalled before acquired
+      public static final double SPIN_UP_TIME = 0.4; // s after starting before a stall is judged
+      public static final double SIM_GEARING = 1.0;
+      public static final double SIM_MOI = 0.001; // kg m^2
     }
 
     /**
@@ -71,6 +110,13 @@ public final class Constants {
       public static final boolean CONVEYOR_MOTOR_LEFT_INVERTED = true;
       public static final boolean CONVEYOR_MOTOR_RIGHT_INVERTED = false;
       public static final double CONVEYOR_MOTOR_SPEED = 0.38;
+      // Conveyor current and slowdown while a note is held against the stopped flywheel
+      public static final double STAGED_CURRENT_AMPS = 20.0;
+      public static final double STAGED_SPEED_FRACTION = 0.6; // of the free speed for the output
+      public static final double SPIN_UP_TIME = 0.25; // s after starting before a stall is judged
+      public static final double NOTE_DEBOUNCE = 0.06; // s of agreement before staged changes
+      public static final double SIM_GEARING = 1.0;
+      public static final double SIM_MOI = 0.001; // kg m^2
     }
 
     /**
@@ -83,9 +129,22 @@ public final class Constants {
       public static final int FLYWHEEL_MOTOR_RIGHT = 4;
       public static final boolean FLYWHEEL_MOTOR_LEFT_INVERTED = false;
       public static final boolean FLYWHEEL_MOTOR_RIGHT_INVERTED = false;
-      public static final double FLYWHEEL_MOTOR_SPEED_HIGH = 1.0;
-      public static final double FLYWHEEL_MOTOR_SPEED_NORMAL = 0.25;
-      public static final double FLYWHEEL_MOTOR_SPEED_LOW = 0.15;
+      public static final double FLYWHEEL_RPM_HIGH = 5000;
+      public static final double FLYWHEEL_RPM_NORMAL = 1400;
+      public static final double FLYWHEEL_RPM_LOW = 850;
+
+      // Onboard velocity PID, in duty cycle per RPM of error, with voltage compensation on
+      public static final double KP = 0.0002;
+      public static final double KI = 0.0;
+      public static final double KD = 0.0;
+      public static final double KFF = 1.0 / NEO_FREE_SPEED_RPM;
+      public static final double NOMINAL_VOLTAGE = 12.0;
+      public static final double AT_SPEED_TOLERANCE_RPM = 100;
+      public static final double AT_SPEED_DEBOUNCE = 0.06; // s within tolerance before feeding
+      public static final double SHOT_RATE_WINDOW = 60.0; // s of shots counted per minute
+      public static final double RELEASE_DIP_RPM = 250; // drop below setpoint as a note passes
+      public static final double SIM_GEARING = 1.0;
+      public static final double SIM_MOI = 0.004; // kg m^2
     }
   }
 
@@ -93,12 +152,33 @@ public final class Constants {
   public static final class DrivebaseConstants {
     // Hold time on motor brakes when disabled in seconds
     public static final double WHEEL_LOCK_TIME = 10;
+
+    public static final int MODULE_COUNT = 4;
+
+    // Resync the angle encoders to the absolute encoders while stopped, as YAGSL's odometry does
+    public static final double ENCODER_SYNC_SPEED = 0.01; // m/s, summed over the modules
+    public static final int ENCODER_SYNC_CYCLES = 5; // stopped loops between resyncs
+
+    // Sample odometry on a dedicated thread instead of once per robot loop
+    public static final boolean HIGH_FREQUENCY_ODOMETRY = false;
+    // Matches the NavX at its 200 Hz maximum, faster only repeats stale yaw readings. Keep the
+    // position frame period of StatusFrameProfile.SWERVE_ODOMETRY at one frame per sample.
+    public static final double ODOMETRY_FREQUENCY = 200; // Hz
+    public static final int NAVX_UPDATE_RATE_HZ = 200;
+    public static final int ODOMETRY_BUFFER_SIZE = 32; // samples, rounded up to a power of two
   }
 
   /** Constants for the autonomous period of the match. */
   public static final class AutonConstants {
     public static final PIDConstants TRANSLATION_PID = new PIDConstants(0.7, 0, 0);
     public static final PIDConstants ANGLE_PID = new PIDConstants(0.4, 0, 0.01);
+
+    // Fallbacks for auto commands that end on note events, in seconds
+    public static final double INTAKE_TIMEOUT = 3.0;
+    public static final double SHOOT_TIMEOUT = 2.0;
+    public static final double DUMP_RETRY_TIME = 1.5; // second dump only if the note is still in
+    public static final double DUMP_TIMEOUT = 2.0;
+    public static final double FIRST_MOTION_SPEED = 0.05; // m/s counted as the auto moving
   }
 
   /** Constants for the operator interface. */
@@ -148,13 +228,138 @@ public final class Constants {
    */
   public static final class AlertContants {
     public static final double CAN_ALERT_TIME = 0.5;
+    public static final double CAN_UTILIZATION = 0.8; // fraction of the bus
+    public static final double CAN_UTILIZATION_TIME = 1.0;
     public static final double LOW_BATTERY_VOLTAGE = 11.0;
     public static final double LOW_BATTERY_TIME = 2.0;
     public static final double PHOTON_LATENCY = 1;
+    public static final double REPORT_INTERVAL = 5.0; // s between console reports of one alert
+    public static final int HISTORY_SIZE = 32; // past activations kept
+  }
+
+  /** Constants for the loop profiler. */
+  public static final class ProfilerConstants {
+    public static final double LOOP_BUDGET_MS = 20.0;
+    public static final int OVERRUN_CYCLES = 5; // consecutive cycles before alerting
+    public static final int WINDOW_SIZE = 250; // samples, 5 seconds at 50 Hz
+    public static final int REPORT_CYCLES = 25; // cycles between percentile reports
+  }
+
+  /** Constants for sampling the robot loop's stack while it runs past its budget. */
+  public static final class OverrunConstants {
+    public static final boolean ENABLED = true;
+    public static final double SAMPLE_INTERVAL_MS = 2.0; // between samples, and polls while idle
+    public static final int MAX_SAMPLES_PER_LOOP = 5;
+    public static final int MAX_STACKS = 256; // distinct stacks kept, the rest are counted together
+    public static final int MAX_DEPTH = 64; // innermost frames kept per stack
+    public static final String DIRECTORY = "/U/logs"; // written here at disable when present
+  }
+
+  /** Constants for the continuous flight recording. */
+  public static final class FlightRecorderConstants {
+    public static final boolean ENABLED = true;
+    public static final String CONFIGURATION = "default"; // the JDK's continuous, low overhead one
+    public static final int MAX_AGE_SECONDS = 300; // window kept for a dump
+    public static final long MAX_SIZE_BYTES = 16 * 1024 * 1024; // the repository lives in RAM
+    public static final double FAULT_DUMP_INTERVAL = 60; // seconds between fault dumps
+    public static final String DIRECTORY = "/U/logs";
+  }
+
+  /** Console log levels per tag, and limits for the background log writer. */
+  public static final class LoggingConstants {
+    public static final Level DEFAULT_LEVEL = Level.INFO;
+    public static final Level SWERVE_LEVEL = Level.INFO;
+    public static final Level AUTO_LEVEL = Level.INFO;
+    public static final Level VISION_LEVEL = Level.INFO;
+    public static final Level BINDS_LEVEL = Level.INFO;
+    public static final int QUEUE_CAPACITY = 512; // messages waiting to be printed
+    public static final long WRITER_PERIOD_MS = 20;
+    public static final double REPEAT_INTERVAL = 1.0; // seconds a repeated message is held back
+  }
+
+  /** Rate limits for dashboard values, and the loop times that switch telemetry tiers. */
+  public static final class TelemetryConstants {
+    public static final double DEFAULT_PERIOD = 0.1; // s, shortest time between publishes of a key
+    public static final int PUBLISH_BUDGET = 8; // values published per loop
+    public static final int LOW_PUBLISH_BUDGET = 2; // values published per loop at the LOW tier
+    public static final double DOWNGRADE_FRACTION = 0.8; // of the loop budget
+    public static final int DOWNGRADE_CYCLES = 5; // consecutive slow loops before dropping a tier
+    public static final double RESTORE_FRACTION = 0.5; // of the loop budget
+    public static final int RESTORE_CYCLES = 250; // consecutive fast loops before stepping up
+  }
+
+  /** Rates for the log fields mirrored to NetworkTables on the robot. */
+  public static final class NTFilterConstants {
+    // MATCH is used whenever the FMS is attached, set PITS here for the full stream in the pits
+    public static final Profile OFF_FIELD_PROFILE = Profile.PRACTICE;
+    public static final int PITS_CYCLES = 1; // loops per publish
+    public static final int PRACTICE_CYCLES = 2;
+    public static final int MATCH_CYCLES = 5;
+  }
+
+  /** Rates and time budgets for work run by the periodic scheduler instead of every loop. */
+  public static final class SchedulerConstants {
+    public static final double CAN_STATUS_HZ = 10;
+    public static final double CAN_STATUS_BUDGET_MS = 1.0;
+    public static final double BATTERY_HZ = 5;
+    public static final double BATTERY_BUDGET_MS = 0.5;
+    public static final double NT_CLIENTS_HZ = 2;
+    public static final double NT_CLIENTS_BUDGET_MS = 1.0;
+    public static final double NT_FILTER_HZ = 1;
+    public static final double NT_FILTER_BUDGET_MS = 0.2;
+    public static final double VISION_LATENCY_HZ = 5;
+    public static final double VISION_LATENCY_BUDGET_MS = 0.5;
+    public static final double CAN_OUTPUTS_HZ = 5;
+    public static final double CAN_OUTPUTS_BUDGET_MS = 0.5;
+  }
+
+  /** Thread priorities for the real-time mode, and the loop jitter histogram. */
+  public static final class ThreadConstants {
+    // Raise the loop and control notifiers to real-time priority, and background threads below
+    public static final boolean REALTIME_MODE = false;
+    public static final int HAL_NOTIFIER_PRIORITY = 40; // wakes the robot loop and notifiers
+    public static final int CONTROL_PRIORITY = 30; // control notifiers such as odometry
+    public static final int MAIN_PRIORITY = 20; // the robot loop
+    public static final double JITTER_RANGE_MS = 5.0; // histogram covers plus or minus this
+    public static final double JITTER_BIN_MS = 0.25;
+  }
+
+  /** Constants for the memory monitor. */
+  public static final class MemoryConstants {
+    public static final int LEAK_WINDOW = 8; // old generation samples after full GCs in the trend
+    public static final double LEAK_SLOPE_BYTES_PER_SECOND = 64 * 1024; // sustained heap growth
+  }
+
+  /** Constants for exercising the hot paths while disabled so they are compiled before enable. */
+  public static final class WarmupConstants {
+    public static final boolean ENABLED = true;
+    public static final double LOOP_BUDGET_MS = 5.0; // warm-up time per disabled loop
+    public static final int MAX_ITERATIONS = 20000; // stop even if timings never settle
+    public static final int WINDOW = 50; // iterations averaged per convergence check
+    public static final double CONVERGENCE_TOLERANCE = 0.05; // change in window mean
+    public static final int CONVERGED_WINDOWS = 3; // consecutive settled windows
+    public static final String PATH = "Taxi Speaker Station 2";
   }
 
   /** Constants for the vision system. */
   public static final class VisionConstants {
+    public static final double INGEST_PERIOD = 0.01; // s between checks for new camera frames
+    public static final int FRAME_QUEUE_SIZE = 8; // frames buffered per camera
+    public static final int MAX_TAGS_PER_FRAME = 16; // tag IDs logged per pose estimate
+
+    /** Limits and standard deviations for fusing AprilTag estimates into odometry. */
+    public static final class Fusion {
+      public static final double MAX_TAG_DISTANCE = 5.0; // meters
+      public static final double MAX_AMBIGUITY = 0.2; // single tag pose ambiguity
+      public static final double MAX_ODOMETRY_ERROR = 1.0; // meters, single tag only
+      public static final double DISTANCE_SCALE = 30.0; // meters squared
+      public static final double AMBIGUITY_SCALE = 5.0;
+      public static final double SINGLE_TAG_XY_STD_DEV = 0.9; // meters
+      public static final double SINGLE_TAG_THETA_STD_DEV = 9999; // radians, ignore heading
+      public static final double MULTI_TAG_XY_STD_DEV = 0.3; // meters
+      public static final double MULTI_TAG_THETA_STD_DEV = 0.5; // radians
+    }
+
     public final class Limelight {
       public static final String NAME = "LIMELIGHT";
       public static final double X_LOC = Units.inchesToMeters(-12.5); // inches to meters
@@ -163,6 +368,9 @@ public final class Constants {
       public static final double ROLL = Units.degreesToRadians(0.0); // degrees to radians
       public static final double PITCH = Units.degreesToRadians(0.0); // degrees to radians
       public static final double YAW = Units.degreesToRadians(180.0); // degrees to radians
+      public static final Transform3d ROBOT_TO_CAMERA =
+          new Transform3d(
+              new Translation3d(X_LOC, Y_LOC, Z_LOC), new Rotation3d(ROLL, PITCH, YAW));
     }
 
     public final class IntakeCamera {
@@ -173,6 +381,9 @@ public final class Constants {
       public static final double ROLL = Units.degreesToRadians(0.0); // degrees to radians
       public static final double PITCH = Units.degreesToRadians(-20.0); // degrees to radians
       public static final double YAW = Units.degreesToRadians(0.0); // degrees to radians
+      public static final Transform3d ROBOT_TO_CAMERA =
+          new Transform3d(
+              new Translation3d(X_LOC, Y_LOC, Z_LOC), new Rotation3d(ROLL, PITCH, YAW));
     }
 
     public final class ConveyorCamera {
@@ -183,6 +394,9 @@ public final class Constants {
       public static final double ROLL = Units.degreesToRadians(0.0); // degrees to radians
       public static final double PITCH = Units.degreesToRadians(90.0); // degrees to radians
       public static final double YAW = Units.degreesToRadians(180.0); // degrees to radians
+      public static final Transform3d ROBOT_TO_CAMERA =
+          new Transform3d(
+              new Translation3d(X_LOC, Y_LOC, Z_LOC), new Rotation3d(ROLL, PITCH, YAW));
     }
   }
 }
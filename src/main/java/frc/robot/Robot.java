@@ -15,8 +15,25 @@ import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
 import frc.robot.Constants.AlertContants;
 import frc.robot.Constants.HardwareConstants;
+import frc.robot.Constants.SchedulerConstants;
 import frc.robot.util.Alert;
 import frc.robot.util.Alert.AlertType;
+import frc.robot.util.CanBusMonitor;
+import frc.robot.util.CommandTracer;
+import frc.robot.util.DedupedOutput;
+import frc.robot.util.FilteredNT4Publisher;
+import frc.robot.util.FlightEvents;
+import frc.robot.util.FlightRecording;
+import frc.robot.util.LoopJitterMonitor;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.MemoryMonitor;
+import frc.robot.util.OverrunSampler;
+import frc.robot.util.PeriodicScheduler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.Telemetry;
+import frc.robot.util.TelemetryTiers;
+import frc.robot.util.ThreadPriorities;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,12 +54,26 @@ import org.littletonrobotics.urcl.URCL;
  */
 public class Robot extends LoggedRobot {
   private Command m_autonomousCommand;
+  private double autoStartTime = 0;
+  private boolean autoCompletionLogged = false;
+  private boolean autoMotionLogged = false;
+  private boolean canFaulted = false;
 
   private RobotContainer m_robotContainer;
   private final Timer canErrorTimer = new Timer();
   private final Timer canErrorTimerInit = new Timer();
   private final Timer disabledTimer = new Timer();
 
+  private final LoopProfiler profiler = LoopProfiler.getInstance();
+  private final LoopProfiler.Section schedulerProfile = profiler.section("CommandScheduler.run()");
+  private final PeriodicScheduler periodicScheduler = PeriodicScheduler.getInstance();
+  private MemoryMonitor memoryMonitor;
+  private FilteredNT4Publisher ntPublisher;
+  private final LoopJitterMonitor jitterMonitor = new LoopJitterMonitor();
+  private final OverrunSampler overrunSampler = new OverrunSampler();
+  private final CommandTracer commandTracer = new CommandTracer();
+  private TelemetryTiers telemetryTiers;
+
   private final Alert canErr =
       new Alert(
           "CAN bus error! Please check the CAN bus connections and power cycle the robot. Robot may be uncontrollable!",
@@ -89,6 +120,8 @@ public class Robot extends LoggedRobot {
         break;
     }
 
+    Logger.recordMetadata("ThreadMode", ThreadPriorities.getMode());
+
     if (!BuildConstants.GIT_BRANCH.equals("main")) {
       gitBranchMain.set(true);
     }
@@ -96,30 +129,40 @@ public class Robot extends LoggedRobot {
       gitBranchEvent.set(true);
     }
 
-    Logger.addDataReceiver(new NT4Publisher());
-    if (isReal()) {
-      LoggedPowerDistribution.getInstance(HardwareConstants.REV_PDH_ID, ModuleType.kRev);
-      Logger.registerURCL(URCL.startExternal());
-      if (Paths.get("/U").getParent() != null) {
-        Logger.addDataReceiver(new WPILOGWriter());
-        noLog.set(true);
-        SignalLogger.start();
-      } else {
-        setUseTiming(false);
-        try {
-          String logPath = LogFileUtil.findReplayLog();
-          Logger.setReplaySource(new WPILOGReader(logPath));
-        } catch (Exception e) {
-          e.printStackTrace();
+    switch (Constants.CURRENT_MODE) {
+      case REAL:
+        // The log file gets everything, NetworkTables only what the profile allows
+        ntPublisher = new FilteredNT4Publisher();
+        Logger.addDataReceiver(ntPublisher);
+        LoggedPowerDistribution.getInstance(HardwareConstants.REV_PDH_ID, ModuleType.kRev);
+        Logger.registerURCL(URCL.startExternal());
+        if (Paths.get("/U").getParent() != null) {
+          Logger.addDataReceiver(new WPILOGWriter());
+          noLog.set(true);
+          SignalLogger.start();
         }
-      }
+        break;
+
+      case SIM:
+        Logger.addDataReceiver(new NT4Publisher());
+        break;
+
+      case REPLAY:
+        // Run as fast as possible and write the replayed outputs next to the original log
+        setUseTiming(false);
+        String logPath = LogFileUtil.findReplayLog();
+        Logger.setReplaySource(new WPILOGReader(logPath));
+        Logger.addDataReceiver(new WPILOGWriter(LogFileUtil.addPathSuffix(logPath, "_sim")));
+        break;
     }
 
     PortForwarder.add(5800, "photonvision-limelight", 5800);
     PortForwarder.add(5800, "photonvision-rpi", 5800);
 
     Logger.start();
-    System.out.println("[ROBOT] Logger started!");
+    RobotLog.info(Tag.ROBOT, "Logger started!");
+    ThreadPriorities.configureMainThread();
+    FlightRecording.start();
 
     // Reset and start timers for error checking
     canErrorTimerInit.reset();
@@ -128,11 +171,65 @@ public class Robot extends LoggedRobot {
     canErrorTimer.start();
     disabledTimer.reset();
     disabledTimer.start();
-    System.out.println("[ROBOT] Timers started!");
+    RobotLog.info(Tag.ROBOT, "Timers started!");
 
     // Instantiate our RobotContainer.  This will perform all our button bindings, and put our
     // autonomous chooser on the dashboard.
     m_robotContainer = new RobotContainer();
+
+    // Bind after the RobotContainer so the profiler sees the end of button polling
+    profiler.bindScheduler();
+    memoryMonitor = new MemoryMonitor();
+    // After the RobotContainer, since the swerve drive is built with full telemetry
+    telemetryTiers = new TelemetryTiers();
+    memoryMonitor.bindScheduler();
+    FlightRecording.bindScheduler();
+    commandTracer.bindScheduler();
+
+    periodicScheduler.addTask(
+        "Robot.canStatus",
+        SchedulerConstants.CAN_STATUS_HZ,
+        SchedulerConstants.CAN_STATUS_BUDGET_MS,
+        this::checkCan);
+    periodicScheduler.addTask(
+        "Robot.canOutputs",
+        SchedulerConstants.CAN_OUTPUTS_HZ,
+        SchedulerConstants.CAN_OUTPUTS_BUDGET_MS,
+        DedupedOutput::logAll);
+    periodicScheduler.addTask(
+        "Robot.battery",
+        SchedulerConstants.BATTERY_HZ,
+        SchedulerConstants.BATTERY_BUDGET_MS,
+        this::checkBattery);
+    periodicScheduler.addTask(
+        "Robot.ntClients",
+        SchedulerConstants.NT_CLIENTS_HZ,
+        SchedulerConstants.NT_CLIENTS_BUDGET_MS,
+        this::logNtClients);
+    if (ntPublisher != null) {
+      periodicScheduler.addTask(
+          "Robot.ntFilter",
+          SchedulerConstants.NT_FILTER_HZ,
+          SchedulerConstants.NT_FILTER_BUDGET_MS,
+          this::logNtFilter);
+    }
+  }
+
+  /**
+   * Runs one robot loop, marked so overruns anywhere in it are sampled and recorded. The loop
+   * profiler's total covers the mode periodic functions and the dashboard updates as well as {@link
+   * #robotPeriodic()}, and the telemetry tier follows that total.
+   */
+  @Override
+  protected void loopFunc() {
+    overrunSampler.loopStarted();
+    profiler.startCycle();
+    FlightEvents.LoopEvent loopEvent = FlightEvents.beginLoop();
+    super.loopFunc();
+    FlightEvents.end(loopEvent);
+    profiler.endCycle();
+    telemetryTiers.periodic(profiler.getLastCycleMs());
+    overrunSampler.loopEnded();
   }
 
   /**
@@ -144,20 +241,41 @@ public class Robot extends LoggedRobot {
    */
   @Override
   public void robotPeriodic() {
+    jitterMonitor.periodic();
+
     // Runs the Scheduler.  This is responsible for polling buttons, adding newly-scheduled
     // commands, running already-scheduled commands, removing finished or interrupted commands,
     // and running subsystem periodic() methods.  This must be called from the robot's periodic
     // block in order for anything in the Command-based framework to work.
+    schedulerProfile.start();
     CommandScheduler.getInstance().run();
+    schedulerProfile.stop();
+    commandTracer.periodic();
+    Telemetry.getInstance().periodic();
+
+    // Diagnostics run at their own rates, spread across loops
+    periodicScheduler.run();
+    memoryMonitor.periodic();
+  }
 
-    var canStats = RobotController.getCANStatus();
+  /** Check the CAN bus for errors and log its utilization. */
+  private void checkCan() {
+    var canStats = CanBusMonitor.getInstance().update();
     if (canStats.receiveErrorCount > 0 || canStats.transmitErrorCount > 0) {
       canErrorTimer.reset();
     }
-    canErr.set(
+    boolean canFault =
         !canErrorTimer.hasElapsed(AlertContants.CAN_ALERT_TIME)
-            && canErrorTimerInit.hasElapsed(AlertContants.CAN_ALERT_TIME));
+            && canErrorTimerInit.hasElapsed(AlertContants.CAN_ALERT_TIME);
+    if (canFault && !canFaulted) {
+      FlightRecording.dumpOnFault("can");
+    }
+    canFaulted = canFault;
+    canErr.set(canFault);
+  }
 
+  /** Warn about a low battery once the robot has been disabled for a while. */
+  private void checkBattery() {
     if (DriverStation.isEnabled()) {
       disabledTimer.reset();
     }
@@ -167,8 +285,10 @@ public class Robot extends LoggedRobot {
     } else {
       lowBatt.set(false);
     }
+  }
 
-    // Log list of NT clients
+  /** Log list of NT clients. */
+  private void logNtClients() {
     List<String> clientNames = new ArrayList<>();
     List<String> clientAddresses = new ArrayList<>();
     for (var client : NetworkTableInstance.getDefault().getConnections()) {
@@ -180,27 +300,62 @@ public class Robot extends LoggedRobot {
         "NTClients/Addresses", clientAddresses.toArray(new String[clientAddresses.size()]));
   }
 
+  /** Log what the filtered NetworkTables receiver is sending. */
+  private void logNtFilter() {
+    FilteredNT4Publisher.Profile profile = ntPublisher.getProfile();
+    Logger.recordOutput("NTFilter/Profile", profile == null ? "" : profile.name());
+    Logger.recordOutput("NTFilter/SentBytes", ntPublisher.getSentBytes());
+    Logger.recordOutput("NTFilter/SuppressedBytes", ntPublisher.getSuppressedBytes());
+  }
+
   /** This function is called once each time the robot enters Disabled mode. */
   @Override
-  public void disabledInit() {}
+  public void disabledInit() {
+    memoryMonitor.reportCommands();
+    overrunSampler.flush();
+    commandTracer.report();
+  }
 
   @Override
-  public void disabledPeriodic() {}
+  public void disabledPeriodic() {
+    m_robotContainer.updateDisabledWarmup();
+  }
 
   /** This autonomous runs the autonomous command selected by your {@link RobotContainer} class. */
   @Override
   public void autonomousInit() {
+    autoStartTime = Logger.getTimestamp() / 1e6;
+    long handoverStart = Logger.getRealTimestamp();
     m_autonomousCommand = m_robotContainer.getAutonomousCommand();
+    Logger.recordOutput("Auto/HandoverMs", (Logger.getRealTimestamp() - handoverStart) / 1e3);
+    autoCompletionLogged = false;
+    autoMotionLogged = false;
+    m_robotContainer.clearAcquiredNote();
 
     // schedule the autonomous command (example)
     if (m_autonomousCommand != null) {
+      Logger.recordOutput("Auto/Name", m_autonomousCommand.getName());
       m_autonomousCommand.schedule();
     }
   }
 
   /** This function is called periodically during autonomous. */
   @Override
-  public void autonomousPeriodic() {}
+  public void autonomousPeriodic() {
+    // Log how long the routine took once, for post-match analysis
+    if (m_autonomousCommand != null
+        && !autoCompletionLogged
+        && !m_autonomousCommand.isScheduled()) {
+      Logger.recordOutput(
+          "Auto/CompletionTimeSeconds", Logger.getTimestamp() / 1e6 - autoStartTime);
+      autoCompletionLogged = true;
+    }
+    if (!autoMotionLogged && m_robotContainer.isDrivebaseMoving()) {
+      Logger.recordOutput(
+          "Auto/TimeToFirstMotionSeconds", Logger.getTimestamp() / 1e6 - autoStartTime);
+      autoMotionLogged = true;
+    }
+  }
 
   @Override
   public void teleopInit() {
@@ -4,31 +4,53 @@
 
 package frc.robot;
 
-import com.pathplanner.lib.auto.AutoBuilder;
 import com.pathplanner.lib.auto.NamedCommands;
 import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.Filesystem;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.Commands;
 import edu.wpi.first.wpilibj2.command.button.CommandJoystick;
 import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
 import edu.wpi.first.wpilibj2.command.button.Trigger;
+import frc.robot.Constants.AutonConstants;
 import frc.robot.Constants.OperatorConstants.Deadbands;
+import frc.robot.Constants.VisionConstants.ConveyorCamera;
+import frc.robot.Constants.VisionConstants.IntakeCamera;
+import frc.robot.Constants.VisionConstants.Limelight;
 import frc.robot.commands.DoNothing;
 import frc.robot.commands.auto.DumpAuto;
 import frc.robot.commands.auto.IntakeAuto;
 import frc.robot.commands.auto.ShootAuto;
 import frc.robot.commands.swerve.AbsoluteDrive;
-import frc.robot.subsystems.ClimbSubsystem;
-import frc.robot.subsystems.ConveyorSubsystem;
-import frc.robot.subsystems.ConveyorSubsystem.FlywheelSpeed;
-import frc.robot.subsystems.DumpSubsystem;
-import frc.robot.subsystems.IntakeSubsystem;
-import frc.robot.subsystems.Vision;
+import frc.robot.subsystems.climb.ClimbIO;
+import frc.robot.subsystems.climb.ClimbIOSim;
+import frc.robot.subsystems.climb.ClimbIOSolenoid;
+import frc.robot.subsystems.climb.ClimbSubsystem;
+import frc.robot.subsystems.conveyor.ConveyorIO;
+import frc.robot.subsystems.conveyor.ConveyorIOSim;
+import frc.robot.subsystems.conveyor.ConveyorIOSparkMax;
+import frc.robot.subsystems.conveyor.ConveyorSubsystem;
+import frc.robot.subsystems.conveyor.ConveyorSubsystem.FlywheelSpeed;
+import frc.robot.subsystems.dump.DumpIO;
+import frc.robot.subsystems.dump.DumpIOSim;
+import frc.robot.subsystems.dump.DumpIOSolenoid;
+import frc.robot.subsystems.dump.DumpSubsystem;
+import frc.robot.subsystems.intake.IntakeIO;
+import frc.robot.subsystems.intake.IntakeIOSim;
+import frc.robot.subsystems.intake.IntakeIOSparkMax;
+import frc.robot.subsystems.intake.IntakeSubsystem;
+import frc.robot.subsystems.swerve.SwerveIO;
+import frc.robot.subsystems.swerve.SwerveIOYAGSL;
 import frc.robot.subsystems.swerve.SwerveSubsystem;
+import frc.robot.subsystems.vision.CameraIO;
+import frc.robot.subsystems.vision.CameraIOPhotonVision;
+import frc.robot.subsystems.vision.Vision;
+import frc.robot.util.AutoRegistry;
+import frc.robot.util.JitWarmup;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
 import java.io.File;
-import org.littletonrobotics.junction.networktables.LoggedDashboardChooser;
-import org.photonvision.PhotonCamera;
 
 /**
  * This class is where the bulk of the robot should be declared. Since Command-based is a
@@ -44,28 +66,84 @@ public class RobotContainer {
       new CommandJoystick(Constants.OperatorConstants.Joysticks.Port.COPILOT_CONTROLLER);
 
   // The robot's subsystems and commands are defined here...
-  private final SwerveSubsystem drivebase =
-      new SwerveSubsystem(new File(Filesystem.getDeployDirectory(), "swerve"));
-  private final IntakeSubsystem intake = new IntakeSubsystem();
-  private final ConveyorSubsystem conveyor = new ConveyorSubsystem();
-  private final DumpSubsystem dump = new DumpSubsystem();
-  private final ClimbSubsystem climb = new ClimbSubsystem();
-  private final Vision vision = new Vision();
+  private final SwerveSubsystem drivebase;
+  private final IntakeSubsystem intake;
+  private final ConveyorSubsystem conveyor;
+  private final DumpSubsystem dump;
+  private final ClimbSubsystem climb;
+  private final Vision vision;
   private final DoNothing nothing = new DoNothing();
-  private final IntakeAuto IntakeAuto = new IntakeAuto(intake);
-  private final ShootAuto ShootAuto = new ShootAuto(conveyor);
-  private final DumpAuto DumpAuto = new DumpAuto(dump);
-
-  private final PhotonCamera limelight = vision.getLimelight();
-  private final PhotonCamera intakeCamera = vision.getIntakeCamera();
-  private final PhotonCamera conveyorCamera = vision.getConveyorCamera();
+  private final IntakeAuto IntakeAuto;
+  private final ShootAuto ShootAuto;
+  private final DumpAuto DumpAuto;
 
   // Autonomous chooser is defined here
-  private final LoggedDashboardChooser<Command> autoChooser;
+  private final AutoRegistry autoRegistry;
+  private final JitWarmup jitWarmup;
 
-  /** The container for the robot. Contains subsystems, OI devices, and commands. */
+  /**
+   * The container for the robot. Contains subsystems, OI devices, and commands.
+   *
+   * <p>Each mechanism is given the IO implementation for the current {@link Constants.Mode}: real
+   * hardware, a physics simulation, or the no-op defaults when replaying a log.
+   */
   public RobotContainer() {
-    System.out.println("[ROBOT] RobotContainer initialized.");
+    RobotLog.info(Tag.ROBOT, "RobotContainer initialized.");
+    File swerveDirectory = new File(Filesystem.getDeployDirectory(), "swerve");
+    switch (Constants.CURRENT_MODE) {
+      case REAL:
+        drivebase = new SwerveSubsystem(swerveDirectory, SwerveIOYAGSL::new);
+        intake = new IntakeSubsystem(new IntakeIOSparkMax());
+        conveyor = new ConveyorSubsystem(new ConveyorIOSparkMax());
+        dump = new DumpSubsystem(new DumpIOSolenoid());
+        climb = new ClimbSubsystem(new ClimbIOSolenoid());
+        vision =
+            new Vision(
+                new CameraIOPhotonVision(Limelight.NAME, Limelight.ROBOT_TO_CAMERA),
+                new CameraIOPhotonVision(IntakeCamera.NAME, IntakeCamera.ROBOT_TO_CAMERA),
+                new CameraIOPhotonVision(ConveyorCamera.NAME, ConveyorCamera.ROBOT_TO_CAMERA),
+                drivebase::getPose,
+                drivebase::addVisionMeasurement);
+        break;
+
+      case SIM:
+        drivebase = new SwerveSubsystem(swerveDirectory, SwerveIOYAGSL::new);
+        intake = new IntakeSubsystem(new IntakeIOSim());
+        conveyor = new ConveyorSubsystem(new ConveyorIOSim());
+        dump = new DumpSubsystem(new DumpIOSim());
+        climb = new ClimbSubsystem(new ClimbIOSim());
+        // Simulated PhotonVision instances publish to the same topics as the real coprocessors
+        vision =
+            new Vision(
+                new CameraIOPhotonVision(Limelight.NAME, Limelight.ROBOT_TO_CAMERA),
+                new CameraIOPhotonVision(IntakeCamera.NAME, IntakeCamera.ROBOT_TO_CAMERA),
+                new CameraIOPhotonVision(ConveyorCamera.NAME, ConveyorCamera.ROBOT_TO_CAMERA),
+                drivebase::getPose,
+                drivebase::addVisionMeasurement);
+        break;
+
+      default:
+        drivebase = new SwerveSubsystem(swerveDirectory, swerveDrive -> new SwerveIO() {});
+        intake = new IntakeSubsystem(new IntakeIO() {});
+        conveyor = new ConveyorSubsystem(new ConveyorIO() {});
+        dump = new DumpSubsystem(new DumpIO() {});
+        climb = new ClimbSubsystem(new ClimbIO() {});
+        vision =
+            new Vision(
+                new CameraIO() {},
+                new CameraIO() {},
+                new CameraIO() {},
+                drivebase::getPose,
+                drivebase::addVisionMeasurement);
+        break;
+    }
+    conveyor.setNoteCamera(() -> vision.getConveyorCamera().hasTargets());
+    conveyor.noteReleased().onTrue(Commands.runOnce(intake::clearAcquiredNote));
+    dump.dumped().onTrue(Commands.runOnce(intake::clearAcquiredNote));
+    IntakeAuto = new IntakeAuto(intake);
+    ShootAuto = new ShootAuto(conveyor, intake::clearAcquiredNote);
+    DumpAuto = new DumpAuto(dump, conveyor::isNoteStaged);
+
     // Configure the trigger bindings
     configureBindings();
 
@@ -80,10 +158,12 @@ public class RobotContainer {
     drivebase.setMotorBrake(true);
     drivebase.setDefaultCommand(absoluteDrive);
 
-    // Create a LoggedDashboardChooser to select the autonomous command
-    autoChooser =
-        new LoggedDashboardChooser<>("Autonomous Chooser", AutoBuilder.buildAutoChooser());
-    autoChooser.addDefaultOption("Nothing", nothing);
+    // Named commands must exist before PathPlanner loads the autos that reference them
+    registerNamedAutoCommands();
+
+    // Build every auto once and put a chooser for them on the dashboard
+    autoRegistry = new AutoRegistry("Autonomous Chooser", "Nothing", nothing);
+    jitWarmup = new JitWarmup(drivebase);
   }
 
   /**
@@ -96,23 +176,50 @@ public class RobotContainer {
    * joysticks}.
    */
   private void configureBindings() {
-    System.out.println("[BINDS] Configuring bindings");
+    RobotLog.info(Tag.BINDS, "Configuring bindings");
     configurePilotController();
     configureCopilotController();
-    System.out.println("[BINDS] Bindings configured");
+    RobotLog.info(Tag.BINDS, "Bindings configured");
   }
 
   /**
    * Use this to pass the autonomous command to the main {@link Robot} class.
    *
-   * @return the command to run in autonomous
+   * @return the command to run in autonomous, built at startup so it is ready to schedule
    */
   public Command getAutonomousCommand() {
-    if (autoChooser.get() == null) {
-      System.out.println("[AUTO] Running " + autoChooser.get().getName());
+    Command auto = autoRegistry.getSelected();
+    if (auto == null) {
+      RobotLog.info(Tag.AUTO, "No auto selected");
       return nothing;
     }
-    return drivebase.getAutonomousCommand(autoChooser.get().getName());
+    RobotLog.info(Tag.AUTO, "Running " + auto.getName());
+    return auto;
+  }
+
+  /** Forget any note picked up before autonomous, so the auto starts from a clean note state. */
+  public void clearAcquiredNote() {
+    intake.clearAcquiredNote();
+  }
+
+  /**
+   * Keep the selected auto warm for the current alliance, and exercise the drive math until it is
+   * compiled. Call while disabled.
+   */
+  public void updateDisabledWarmup() {
+    autoRegistry.updateWarmup();
+    jitWarmup.periodic();
+  }
+
+  /**
+   * Whether the drivebase is moving, for timing how long autos take to get going.
+   *
+   * @return True when the robot is moving faster than {@link AutonConstants#FIRST_MOTION_SPEED}.
+   */
+  public boolean isDrivebaseMoving() {
+    ChassisSpeeds speeds = drivebase.getRobotVelocity();
+    return Math.hypot(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond)
+        > AutonConstants.FIRST_MOTION_SPEED;
   }
 
   /**
@@ -128,12 +235,16 @@ public class RobotContainer {
    * <p>This is using an Xbox controller.
    */
   public void configurePilotController() {
-    System.out.println("[BINDS] Configuring pilot controller");
+    RobotLog.info(Tag.BINDS, "Configuring pilot controller");
     pilotXbox.a().onTrue(Commands.runOnce(drivebase::zeroGyro));
-    pilotXbox.x().onTrue(Commands.runOnce(() -> drivebase.aimAtTarget(limelight)));
-    pilotXbox.b().onTrue(Commands.runOnce(() -> drivebase.aimAtTarget(intakeCamera)));
+    pilotXbox
+        .x()
+        .onTrue(Commands.runOnce(() -> drivebase.aimAtTarget(vision.getLimelight())));
+    pilotXbox
+        .b()
+        .onTrue(Commands.runOnce(() -> drivebase.aimAtTarget(vision.getIntakeCamera())));
     pilotXbox.y().whileTrue(Commands.runOnce(drivebase::lock, drivebase).repeatedly());
-    System.out.println("[BINDS] Pilot controller configured");
+    RobotLog.info(Tag.BINDS, "Pilot controller configured");
   }
 
   /**
@@ -160,7 +271,7 @@ public class RobotContainer {
    * used to run the climber down.
    */
   public void configureCopilotController() {
-    System.out.println("[BINDS] Configuring copilot controller");
+    RobotLog.info(Tag.BINDS, "Configuring copilot controller");
     copilotJoystick.trigger().onTrue(Commands.runOnce(dump::extend).repeatedly());
     copilotJoystick.trigger().onFalse(Commands.runOnce(dump::retract).repeatedly());
     configureButton(
@@ -214,7 +325,7 @@ public class RobotContainer {
     } else if (copilotJoystick.getThrottle() < 0) {
       Commands.runOnce(climb::retract);
     }
-    System.out.println("[BINDS] Copilot controller configured");
+    RobotLog.info(Tag.BINDS, "Copilot controller configured");
   }
 
   /**
@@ -230,10 +341,19 @@ public class RobotContainer {
   /**
    * Configure PathPlanner to use commands from any autonomous command that is registered in the
    * path.
+   *
+   * <p>Event markers run these in parallel with path following, so each one ends as soon as its
+   * work is done to free its subsystem. {@code spinUp} is a deadline group that holds the flywheel
+   * setpoint until it is at speed, then leaves it spinning for the {@code shoot} that follows.
    */
   public void registerNamedAutoCommands() {
     NamedCommands.registerCommand("intake", IntakeAuto);
     NamedCommands.registerCommand("shoot", ShootAuto);
     NamedCommands.registerCommand("dump", DumpAuto);
+    NamedCommands.registerCommand(
+        "spinUp",
+        Commands.deadline(
+            Commands.waitUntil(conveyor::isFlywheelAtSpeed),
+            Commands.run(() -> conveyor.runFlywheel(FlywheelSpeed.HIGH, false), conveyor)));
   }
 }
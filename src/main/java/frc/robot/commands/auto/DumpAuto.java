@@ -6,10 +6,16 @@ package frc.robot.commands.auto;
 
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
-import frc.robot.subsystems.DumpSubsystem;
+import frc.robot.Constants.AutonConstants;
+import frc.robot.subsystems.dump.DumpSubsystem;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import java.util.function.BooleanSupplier;
+import org.littletonrobotics.junction.Logger;
 
 public class DumpAuto extends Command {
   private final DumpSubsystem m_dumpSubsystem;
+  private final BooleanSupplier m_noteStaged;
   private final Timer m_timer = new Timer();
 
   /**
@@ -22,10 +28,16 @@ public class DumpAuto extends Command {
    * passed, the dump subsystem is extended. If the timer sees that 2 seconds have passed, the dump
    * subsystem is retracted.
    *
+   * <p>The second dump only happens if the note is still staged after the first, otherwise the
+   * command ends at {@link AutonConstants#DUMP_RETRY_TIME}. The time saved over {@link
+   * AutonConstants#DUMP_TIMEOUT} is logged.
+   *
    * @param dumpSubsystem The dump subsystem used by this command.
+   * @param noteStaged Whether a note is still staged in the conveyor.
    */
-  public DumpAuto(DumpSubsystem dumpSubsystem) {
+  public DumpAuto(DumpSubsystem dumpSubsystem, BooleanSupplier noteStaged) {
     m_dumpSubsystem = dumpSubsystem;
+    m_noteStaged = noteStaged;
     addRequirements(m_dumpSubsystem);
     // Use addRequirements() here to declare subsystem dependencies.
   }
@@ -44,10 +56,10 @@ public class DumpAuto extends Command {
     if (m_timer.get() > 1.0) {
       m_dumpSubsystem.retract();
     }
-    if (m_timer.get() > 1.5) {
+    if (m_timer.get() > AutonConstants.DUMP_RETRY_TIME && m_noteStaged.getAsBoolean()) {
       m_dumpSubsystem.extend();
     }
-    if (m_timer.get() > 2.0) {
+    if (m_timer.get() > AutonConstants.DUMP_TIMEOUT) {
       m_dumpSubsystem.retract();
     }
   }
@@ -56,12 +68,18 @@ public class DumpAuto extends Command {
   @Override
   public void end(boolean interrupted) {
     m_dumpSubsystem.retract();
-    System.out.println("[AUTO] DumpAuto command ended.");
+    if (!interrupted) {
+      Logger.recordOutput(
+          "Auto/DumpAuto/TimeSavedSeconds",
+          Math.max(0, AutonConstants.DUMP_TIMEOUT - m_timer.get()));
+    }
+    RobotLog.info(Tag.AUTO, "DumpAuto command ended.");
   }
 
   // Returns true when the command should end.
   @Override
   public boolean isFinished() {
-    return false;
+    return m_timer.hasElapsed(AutonConstants.DUMP_TIMEOUT)
+        || (m_timer.hasElapsed(AutonConstants.DUMP_RETRY_TIME) && !m_noteStaged.getAsBoolean());
   }
 }
@@ -6,7 +6,11 @@ package frc.robot.commands.auto;
 
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
-import frc.robot.subsystems.IntakeSubsystem;
+import frc.robot.Constants.AutonConstants;
+import frc.robot.subsystems.intake.IntakeSubsystem;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import org.littletonrobotics.junction.Logger;
 
 public class IntakeAuto extends Command {
   private final IntakeSubsystem m_intakeSubsystem;
@@ -17,8 +21,9 @@ public class IntakeAuto extends Command {
    *
    * <p>When the command is initially scheduled, the timer is reset and started.
    *
-   * <p>When the command is executed, the intake subsystem is run. If the timer sees that 3 seconds
-   * have passed, the intake subsystem is stopped.
+   * <p>When the command is executed, the intake subsystem is run. The command ends as soon as the
+   * intake reports a note was acquired, or after {@link AutonConstants#INTAKE_TIMEOUT} if it never
+   * does. The time saved over the timeout is logged.
    *
    * @param intakeSubsystem The intake subsystem used by this command.
    */
@@ -30,7 +35,7 @@ public class IntakeAuto extends Command {
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    System.out.println("[AUTO] IntakeAuto command initialized.");
+    RobotLog.info(Tag.AUTO, "IntakeAuto command initialized.");
     m_timer.reset();
     m_timer.start();
   }
@@ -39,21 +44,24 @@ public class IntakeAuto extends Command {
   @Override
   public void execute() {
     m_intakeSubsystem.runIntake(false);
-    if (m_timer.get() > 3) {
-      m_intakeSubsystem.stopIntake();
-    }
   }
 
   // Called once the command ends or is interrupted.
   @Override
   public void end(boolean interrupted) {
     m_intakeSubsystem.stopIntake();
-    System.out.println("[AUTO] IntakeAuto command ended.");
+    if (!interrupted) {
+      Logger.recordOutput(
+          "Auto/IntakeAuto/TimeSavedSeconds",
+          Math.max(0, AutonConstants.INTAKE_TIMEOUT - m_timer.get()));
+    }
+    RobotLog.info(Tag.AUTO, "IntakeAuto command ended.");
   }
 
   // Returns true when the command should end.
   @Override
   public boolean isFinished() {
-    return false;
+    return m_intakeSubsystem.hasAcquiredNote()
+        || m_timer.hasElapsed(AutonConstants.INTAKE_TIMEOUT);
   }
 }
@@ -6,33 +6,45 @@ package frc.robot.commands.auto;
 
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
-import frc.robot.subsystems.ConveyorSubsystem;
-import frc.robot.subsystems.ConveyorSubsystem.FlywheelSpeed;
+import frc.robot.Constants.AutonConstants;
+import frc.robot.subsystems.conveyor.ConveyorSubsystem;
+import frc.robot.subsystems.conveyor.ConveyorSubsystem.FlywheelSpeed;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import org.littletonrobotics.junction.Logger;
 
 public class ShootAuto extends Command {
   private final ConveyorSubsystem m_conveyorSubsystem;
+  private final Runnable m_noteShot;
   private final Timer m_timer = new Timer();
+  private boolean m_feeding = false;
 
   /**
    * Creates a new ShootAuto command.
    *
-   * <p>When the command is initially scheduled, the timer is reset and started.
+   * <p>When the command is executed, the flywheel is spun up to high speed. As soon as the
+   * flywheel reports it is at speed the conveyor starts feeding, and keeps feeding even if the
+   * note pulls the flywheel out of tolerance. The command ends once the conveyor reports the note
+   * was released, or after {@link AutonConstants#SHOOT_TIMEOUT} if it never does. The time saved
+   * over the timeout is logged.
    *
-   * <p>When the command is executed, the conveyor subsystem is run. If the timer sees that 1 second
-   * has passed, the conveyor subsystem is run. If the timer sees that 1 second has passed, the
-   * conveyor subsystem is run.
+   * <p>If the conveyor fed, the note is taken to be gone when the command finishes, even on the
+   * timeout, since the release is not always seen.
    *
    * @param conveyorSubsystem The conveyor subsystem used by this command.
+   * @param noteShot Called when the command finishes after feeding.
    */
-  public ShootAuto(ConveyorSubsystem conveyorSubsystem) {
+  public ShootAuto(ConveyorSubsystem conveyorSubsystem, Runnable noteShot) {
     m_conveyorSubsystem = conveyorSubsystem;
+    m_noteShot = noteShot;
     addRequirements(m_conveyorSubsystem);
   }
 
   // Called when the command is initially scheduled.
   @Override
   public void initialize() {
-    System.out.println("[AUTO] ShootAuto command initialized.");
+    RobotLog.info(Tag.AUTO, "ShootAuto command initialized.");
+    m_feeding = false;
     m_timer.reset();
     m_timer.start();
   }
@@ -40,9 +52,10 @@ public class ShootAuto extends Command {
   // Called every time the scheduler runs while the command is scheduled.
   @Override
   public void execute() {
-    m_conveyorSubsystem.runConveyor(false);
-    if (m_timer.get() > 1) {
-      m_conveyorSubsystem.runFlywheel(FlywheelSpeed.HIGH, false);
+    m_conveyorSubsystem.runFlywheel(FlywheelSpeed.HIGH, false);
+    if (m_feeding || m_conveyorSubsystem.isFlywheelAtSpeed()) {
+      m_feeding = true;
+      m_conveyorSubsystem.runConveyor(false);
     }
   }
 
@@ -51,12 +64,21 @@ public class ShootAuto extends Command {
   public void end(boolean interrupted) {
     m_conveyorSubsystem.stopConveyor();
     m_conveyorSubsystem.stopFlywheel();
-    System.out.println("[AUTO] ShootAuto command ended.");
+    if (!interrupted && m_feeding) {
+      m_noteShot.run();
+    }
+    if (!interrupted) {
+      Logger.recordOutput(
+          "Auto/ShootAuto/TimeSavedSeconds",
+          Math.max(0, AutonConstants.SHOOT_TIMEOUT - m_timer.get()));
+    }
+    RobotLog.info(Tag.AUTO, "ShootAuto command ended.");
   }
 
   // Returns true when the command should end.
   @Override
   public boolean isFinished() {
-    return false;
+    return (m_feeding && m_conveyorSubsystem.hasReleasedNote())
+        || m_timer.hasElapsed(AutonConstants.SHOOT_TIMEOUT);
   }
 }
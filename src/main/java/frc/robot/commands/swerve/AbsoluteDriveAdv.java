@@ -7,10 +7,10 @@ package frc.robot.commands.swerve;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.Constants;
 import frc.robot.subsystems.swerve.SwerveSubsystem;
+import frc.robot.util.Telemetry;
 import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.DoubleSupplier;
@@ -21,6 +21,10 @@ import swervelib.math.SwerveMath;
 public class AbsoluteDriveAdv extends Command {
 
   private final SwerveSubsystem swerve;
+  private final Telemetry.DoubleValue limitedTranslationTelemetry =
+      Telemetry.getInstance().getDouble("LimitedTranslation");
+  private final Telemetry.StringValue translationTelemetry =
+      Telemetry.getInstance().getString("Translation");
   private final DoubleSupplier vX, vY;
   private final DoubleSupplier headingAdjust;
   private final BooleanSupplier lookAway, lookTowards, lookLeft, lookRight;
@@ -125,8 +129,8 @@ public class AbsoluteDriveAdv extends Command {
             Constants.ROBOT_MASS,
             List.of(Constants.CHASSIS),
             swerve.getSwerveDriveConfiguration());
-    SmartDashboard.putNumber("LimitedTranslation", translation.getX());
-    SmartDashboard.putString("Translation", translation.toString());
+    limitedTranslationTelemetry.set(translation.getX());
+    translationTelemetry.set(translation);
 
     // Make the robot move
     if (headingX == 0 && headingY == 0 && Math.abs(headingAdjust.getAsDouble()) > 0) {
@@ -6,10 +6,10 @@ package frc.robot.commands.swerve;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import edu.wpi.first.wpilibj2.command.Command;
 import frc.robot.Constants;
 import frc.robot.subsystems.swerve.SwerveSubsystem;
+import frc.robot.util.Telemetry;
 import java.util.List;
 import java.util.function.DoubleSupplier;
 import swervelib.SwerveController;
@@ -19,6 +19,10 @@ import swervelib.math.SwerveMath;
 public class AbsoluteFieldDrive extends Command {
 
   private final SwerveSubsystem swerve;
+  private final Telemetry.DoubleValue limitedTranslationTelemetry =
+      Telemetry.getInstance().getDouble("LimitedTranslation");
+  private final Telemetry.StringValue translationTelemetry =
+      Telemetry.getInstance().getString("Translation");
   private final DoubleSupplier vX, vY, heading;
 
   /**
@@ -68,8 +72,8 @@ public class AbsoluteFieldDrive extends Command {
             Constants.ROBOT_MASS,
             List.of(Constants.CHASSIS),
             swerve.getSwerveDriveConfiguration());
-    SmartDashboard.putNumber("LimitedTranslation", translation.getX());
-    SmartDashboard.putString("Translation", translation.toString());
+    limitedTranslationTelemetry.set(translation.getX());
+    translationTelemetry.set(translation);
 
     // Make the robot move
     swerve.drive(translation, desiredSpeeds.omegaRadiansPerSecond, true);
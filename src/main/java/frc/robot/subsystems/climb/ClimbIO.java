@@ -0,0 +1,31 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.climb;
+
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Hardware interface for the climb solenoid.
+ *
+ * <p>The default methods do nothing, which is what log replay uses: inputs come from the log and
+ * outputs go nowhere.
+ */
+public interface ClimbIO {
+  /** Inputs read from the climb every loop. */
+  @AutoLog
+  public static class ClimbIOInputs {
+    public boolean extended = false;
+  }
+
+  /** Updates the set of loggable inputs. */
+  public default void updateInputs(ClimbIOInputs inputs) {}
+
+  /**
+   * Extend or retract the climb.
+   *
+   * @param extended Whether the climb should be extended.
+   */
+  public default void setExtended(boolean extended) {}
+}
@@ -0,0 +1,20 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.climb;
+
+/** Simulated climb. The solenoid is assumed to reach its commanded position immediately. */
+public class ClimbIOSim implements ClimbIO {
+  private boolean extended = false;
+
+  @Override
+  public void updateInputs(ClimbIOInputs inputs) {
+    inputs.extended = extended;
+  }
+
+  @Override
+  public void setExtended(boolean extended) {
+    this.extended = extended;
+  }
+}
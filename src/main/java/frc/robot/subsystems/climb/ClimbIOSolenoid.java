@@ -0,0 +1,36 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.climb;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+import edu.wpi.first.wpilibj.PneumaticsModuleType;
+import frc.robot.Constants.HardwareConstants;
+import frc.robot.util.DedupedOutput;
+
+/** The climb on a double solenoid on the REV Pneumatic Hub. */
+public class ClimbIOSolenoid implements ClimbIO {
+  private final DoubleSolenoid solenoid =
+      new DoubleSolenoid(
+          HardwareConstants.REV_PCM_ID,
+          PneumaticsModuleType.REVPH,
+          HardwareConstants.PneumaticsChannels.CLIMB_OUT,
+          HardwareConstants.PneumaticsChannels.CLIMB_IN);
+  private final DedupedOutput output = new DedupedOutput("ClimbSolenoid", this::write);
+
+  @Override
+  public void updateInputs(ClimbIOInputs inputs) {
+    inputs.extended = solenoid.get() == DoubleSolenoid.Value.kForward;
+  }
+
+  @Override
+  public void setExtended(boolean extended) {
+    output.set(extended ? 1 : 0);
+  }
+
+  /** Writes 1 as extended and 0 as retracted, so the solenoid can go through a DedupedOutput. */
+  private void write(double extended) {
+    solenoid.set(extended > 0 ? DoubleSolenoid.Value.kForward : DoubleSolenoid.Value.kReverse);
+  }
+}
@@ -0,0 +1,63 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.climb;
+
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.Telemetry;
+import org.littletonrobotics.junction.Logger;
+
+public class ClimbSubsystem extends SubsystemBase {
+  private final LoopProfiler.Section periodicProfile =
+      LoopProfiler.getInstance().section(getName() + ".periodic()");
+  private final ClimbIO io;
+  private final ClimbIOInputsAutoLogged inputs = new ClimbIOInputsAutoLogged();
+  private boolean isClimbing = false;
+  private final Telemetry.BooleanValue climbingTelemetry =
+      Telemetry.getInstance().getBoolean(getName());
+
+  /**
+   * Creates a climber subsystem.
+   *
+   * <p>When the robot is initialized, the climb is retracted to avoid damage and the state of the
+   * climb is set to false.
+   *
+   * <p>When the robot is climbing, the climb is extended to support the robot.
+   *
+   * <p>When the robot is not climbing, the climb is retracted to avoid damage.
+   *
+   * @param io The {@link ClimbIO} implementation to drive, real, simulated or replayed.
+   */
+  public ClimbSubsystem(ClimbIO io) {
+    RobotLog.info(Tag.CLIMB, "ClimbSubsystem initialized.");
+    this.io = io;
+    retract();
+    climbingTelemetry.set(isClimbing);
+  }
+
+  @Override
+  public void periodic() {
+    periodicProfile.start();
+    io.updateInputs(inputs);
+    Logger.processInputs("Climb", inputs);
+    periodicProfile.stop();
+  }
+
+  /** Extends the climb. */
+  public void extend() {
+    io.setExtended(true);
+    isClimbing = true;
+    climbingTelemetry.set(isClimbing);
+  }
+
+  /** Retracts the climb. */
+  public void retract() {
+    io.setExtended(false);
+    isClimbing = false;
+    climbingTelemetry.set(isClimbing);
+  }
+}
@@ -0,0 +1,50 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.conveyor;
+
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Hardware interface for the conveyor and flywheel.
+ *
+ * <p>The default methods do nothing, which is what log replay uses: inputs come from the log and
+ * outputs go nowhere.
+ */
+public interface ConveyorIO {
+  /** Inputs read from the conveyor and flywheel every loop. */
+  @AutoLog
+  public static class ConveyorIOInputs {
+    public double conveyorAppliedOutput = 0.0;
+    public double conveyorVelocityRPM = 0.0;
+    public double[] conveyorCurrentAmps = new double[] {0.0, 0.0};
+    public double flywheelAppliedOutput = 0.0;
+    public double flywheelVelocityRPM = 0.0;
+    public double[] flywheelCurrentAmps = new double[] {0.0, 0.0};
+  }
+
+  /** Updates the set of loggable inputs. */
+  public default void updateInputs(ConveyorIOInputs inputs) {}
+
+  /**
+   * Run both conveyor motors open loop.
+   *
+   * @param speed Duty cycle from -1 to 1.
+   */
+  public default void setConveyorSpeed(double speed) {}
+
+  /**
+   * Run both flywheel motors open loop.
+   *
+   * @param speed Duty cycle from -1 to 1.
+   */
+  public default void setFlywheelSpeed(double speed) {}
+
+  /**
+   * Run both flywheel motors closed loop.
+   *
+   * @param rpm Target flywheel velocity in RPM.
+   */
+  public default void setFlywheelVelocity(double rpm) {}
+}
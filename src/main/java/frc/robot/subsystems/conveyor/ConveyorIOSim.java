@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.conveyor;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import edu.wpi.first.wpilibj.simulation.FlywheelSim;
+import frc.robot.Constants;
+import frc.robot.Constants.MechanismConstants.Conveyor;
+import frc.robot.Constants.MechanismConstants.Flywheel;
+
+/** Simulated conveyor and flywheel, each modeled as a pair of NEOs. */
+public class ConveyorIOSim implements ConveyorIO {
+  private final DCMotorSim conveyorSim =
+      new DCMotorSim(DCMotor.getNEO(2), Conveyor.SIM_GEARING, Conveyor.SIM_MOI);
+  private final FlywheelSim flywheelSim =
+      new FlywheelSim(DCMotor.getNEO(2), Flywheel.SIM_GEARING, Flywheel.SIM_MOI);
+  private double conveyorSpeed = 0.0;
+  private double flywheelSpeed = 0.0;
+  private boolean flywheelClosedLoop = false;
+  private double flywheelSetpointRPM = 0.0;
+
+  @Override
+  public void updateInputs(ConveyorIOInputs inputs) {
+    double batteryVoltage = RobotController.getBatteryVoltage();
+    conveyorSim.setInputVoltage(conveyorSpeed * batteryVoltage);
+    if (flywheelClosedLoop) {
+      // Same law as the SPARK MAX velocity loop, with voltage compensation
+      double error = flywheelSetpointRPM - flywheelSim.getAngularVelocityRPM();
+      double output = Flywheel.KFF * flywheelSetpointRPM + Flywheel.KP * error;
+      flywheelSpeed = MathUtil.clamp(output, -1.0, 1.0);
+      flywheelSim.setInputVoltage(
+          MathUtil.clamp(
+              flywheelSpeed * Flywheel.NOMINAL_VOLTAGE, -batteryVoltage, batteryVoltage));
+    } else {
+      flywheelSim.setInputVoltage(flywheelSpeed * batteryVoltage);
+    }
+    conveyorSim.update(Constants.LOOP_PERIOD);
+    flywheelSim.update(Constants.LOOP_PERIOD);
+
+    // Current is split evenly between the two motors on each mechanism
+    inputs.conveyorAppliedOutput = conveyorSpeed;
+    inputs.conveyorVelocityRPM = conveyorSim.getAngularVelocityRPM();
+    inputs.conveyorCurrentAmps[0] = conveyorSim.getCurrentDrawAmps() / 2;
+    inputs.conveyorCurrentAmps[1] = conveyorSim.getCurrentDrawAmps() / 2;
+    inputs.flywheelAppliedOutput = flywheelSpeed;
+    inputs.flywheelVelocityRPM = flywheelSim.getAngularVelocityRPM();
+    inputs.flywheelCurrentAmps[0] = flywheelSim.getCurrentDrawAmps() / 2;
+    inputs.flywheelCurrentAmps[1] = flywheelSim.getCurrentDrawAmps() / 2;
+  }
+
+  @Override
+  public void setConveyorSpeed(double speed) {
+    conveyorSpeed = MathUtil.clamp(speed, -1.0, 1.0);
+  }
+
+  @Override
+  public void setFlywheelSpeed(double speed) {
+    flywheelClosedLoop = false;
+    flywheelSpeed = MathUtil.clamp(speed, -1.0, 1.0);
+  }
+
+  @Override
+  public void setFlywheelVelocity(double rpm) {
+    flywheelClosedLoop = true;
+    flywheelSetpointRPM = rpm;
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.conveyor;
+
+import com.revrobotics.CANSparkBase.ControlType;
+import com.revrobotics.CANSparkBase.IdleMode;
+import com.revrobotics.CANSparkLowLevel.MotorType;
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.SparkPIDController;
+import frc.robot.Constants.MechanismConstants.Conveyor;
+import frc.robot.Constants.MechanismConstants.Flywheel;
+import frc.robot.util.DedupedOutput;
+import frc.robot.util.StatusFrameProfile;
+import java.util.function.DoubleConsumer;
+
+/** Conveyor and flywheel hardware on four SPARK MAX controllers. */
+public class ConveyorIOSparkMax implements ConveyorIO {
+  private final CANSparkMax conveyorMotorLeft =
+      new CANSparkMax(Conveyor.CONVEYOR_MOTOR_LEFT, MotorType.kBrushless);
+  private final CANSparkMax conveyorMotorRight =
+      new CANSparkMax(Conveyor.CONVEYOR_MOTOR_RIGHT, MotorType.kBrushless);
+  private final CANSparkMax flywheelMotorLeft =
+      new CANSparkMax(Flywheel.FLYWHEEL_MOTOR_LEFT, MotorType.kBrushless);
+  private final CANSparkMax flywheelMotorRight =
+      new CANSparkMax(Flywheel.FLYWHEEL_MOTOR_RIGHT, MotorType.kBrushless);
+  private final DedupedOutput conveyorLeftOutput =
+      new DedupedOutput("ConveyorLeft", conveyorMotorLeft::set);
+  private final DedupedOutput conveyorRightOutput =
+      new DedupedOutput("ConveyorRight", conveyorMotorRight::set);
+  private final DedupedOutput flywheelLeftOutput =
+      new DedupedOutput("FlywheelLeft", flywheelMotorLeft::set);
+  private final DedupedOutput flywheelRightOutput =
+      new DedupedOutput("FlywheelRight", flywheelMotorRight::set);
+  private final DedupedOutput flywheelLeftVelocity =
+      new DedupedOutput("FlywheelLeftVelocity", velocityWriter(flywheelMotorLeft));
+  private final DedupedOutput flywheelRightVelocity =
+      new DedupedOutput("FlywheelRightVelocity", velocityWriter(flywheelMotorRight));
+
+  /**
+   * Creates the conveyor and flywheel hardware.
+   *
+   * <p>When the robot is initialized, the conveyor motors are set to brake mode and the flywheel
+   * motors to coast, so a stopped flywheel spins down on its own.
+   *
+   * <p>When the robot is initialized, the conveyor and flywheel motors are set to their respective
+   * inverted values.
+   *
+   * <p>The flywheel motors send fast velocity frames with {@link StatusFrameProfile#FLYWHEEL}, the
+   * conveyor motors use {@link StatusFrameProfile#CONVEYOR}.
+   *
+   * <p>The flywheel motors run the onboard velocity PID with a feedforward, and compensate for
+   * battery voltage so the same setpoint gives the same shot on a tired battery.
+   */
+  public ConveyorIOSparkMax() {
+    conveyorMotorLeft.setInverted(Conveyor.CONVEYOR_MOTOR_LEFT_INVERTED);
+    conveyorMotorRight.setInverted(Conveyor.CONVEYOR_MOTOR_RIGHT_INVERTED);
+    flywheelMotorLeft.setInverted(Flywheel.FLYWHEEL_MOTOR_LEFT_INVERTED);
+    flywheelMotorRight.setInverted(Flywheel.FLYWHEEL_MOTOR_RIGHT_INVERTED);
+
+    conveyorMotorLeft.setIdleMode(IdleMode.kBrake);
+    conveyorMotorRight.setIdleMode(IdleMode.kBrake);
+    flywheelMotorLeft.setIdleMode(IdleMode.kCoast);
+    flywheelMotorRight.setIdleMode(IdleMode.kCoast);
+
+    configureVelocityControl(flywheelMotorLeft);
+    configureVelocityControl(flywheelMotorRight);
+
+    StatusFrameProfile.CONVEYOR.apply("ConveyorLeft", conveyorMotorLeft);
+    StatusFrameProfile.CONVEYOR.apply("ConveyorRight", conveyorMotorRight);
+    StatusFrameProfile.FLYWHEEL.apply("FlywheelLeft", flywheelMotorLeft);
+    StatusFrameProfile.FLYWHEEL.apply("FlywheelRight", flywheelMotorRight);
+  }
+
+  private static void configureVelocityControl(CANSparkMax motor) {
+    motor.enableVoltageCompensation(Flywheel.NOMINAL_VOLTAGE);
+    SparkPIDController pid = motor.getPIDController();
+    pid.setP(Flywheel.KP);
+    pid.setI(Flywheel.KI);
+    pid.setD(Flywheel.KD);
+    pid.setFF(Flywheel.KFF);
+    pid.setOutputRange(-1, 1);
+  }
+
+  private static DoubleConsumer velocityWriter(CANSparkMax motor) {
+    SparkPIDController pid = motor.getPIDController();
+    return rpm -> pid.setReference(rpm, ControlType.kVelocity);
+  }
+
+  @Override
+  public void updateInputs(ConveyorIOInputs inputs) {
+    inputs.conveyorAppliedOutput = conveyorMotorLeft.getAppliedOutput();
+    inputs.conveyorVelocityRPM = conveyorMotorLeft.getEncoder().getVelocity();
+    inputs.conveyorCurrentAmps[0] = conveyorMotorLeft.getOutputCurrent();
+    inputs.conveyorCurrentAmps[1] = conveyorMotorRight.getOutputCurrent();
+    inputs.flywheelAppliedOutput = flywheelMotorLeft.getAppliedOutput();
+    inputs.flywheelVelocityRPM = flywheelMotorLeft.getEncoder().getVelocity();
+    inputs.flywheelCurrentAmps[0] = flywheelMotorLeft.getOutputCurrent();
+    inputs.flywheelCurrentAmps[1] = flywheelMotorRight.getOutputCurrent();
+  }
+
+  @Override
+  public void setConveyorSpeed(double speed) {
+    conveyorLeftOutput.set(speed);
+    conveyorRightOutput.set(speed);
+  }
+
+  @Override
+  public void setFlywheelSpeed(double speed) {
+    // Both modes share the motors, so switching modes must resend the other mode's setpoint
+    flywheelLeftVelocity.invalidate();
+    flywheelRightVelocity.invalidate();
+    flywheelLeftOutput.set(speed);
+    flywheelRightOutput.set(speed);
+  }
+
+  @Override
+  public void setFlywheelVelocity(double rpm) {
+    flywheelLeftOutput.invalidate();
+    flywheelRightOutput.invalidate();
+    flywheelLeftVelocity.set(rpm);
+    flywheelRightVelocity.set(rpm);
+  }
+}
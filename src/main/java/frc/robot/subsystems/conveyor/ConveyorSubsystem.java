@@ -0,0 +1,282 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.conveyor;
+
+import edu.wpi.first.math.filter.Debouncer;
+import edu.wpi.first.math.filter.Debouncer.DebounceType;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
+import frc.robot.Constants.MechanismConstants.Conveyor;
+import frc.robot.Constants.MechanismConstants.Flywheel;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.RollerStallDetector;
+import java.util.ArrayDeque;
+import java.util.function.BooleanSupplier;
+import org.littletonrobotics.junction.Logger;
+
+public class ConveyorSubsystem extends SubsystemBase {
+  private final LoopProfiler.Section periodicProfile =
+      LoopProfiler.getInstance().section(getName() + ".periodic()");
+  private final ConveyorIO io;
+  private final ConveyorIOInputsAutoLogged inputs = new ConveyorIOInputsAutoLogged();
+
+  private final Debouncer atSpeedDebouncer =
+      new Debouncer(Flywheel.AT_SPEED_DEBOUNCE, DebounceType.kRising);
+  private double flywheelSetpointRPM = 0.0;
+  private boolean flywheelAtSpeed = false;
+  private double spinUpStartTime = Double.NaN;
+  private boolean conveyorFeeding = false;
+  private final ArrayDeque<Double> shotTimes = new ArrayDeque<>();
+
+  private BooleanSupplier noteInView = () -> false;
+  private final RollerStallDetector conveyorStall =
+      new RollerStallDetector(
+          Conveyor.STAGED_CURRENT_AMPS, Conveyor.STAGED_SPEED_FRACTION, Conveyor.SPIN_UP_TIME);
+  private final Debouncer stagedDebouncer =
+      new Debouncer(Conveyor.NOTE_DEBOUNCE, DebounceType.kBoth);
+  private final Trigger noteStaged = new Trigger(this::isNoteStaged);
+  private final Trigger noteReleased = new Trigger(this::hasReleasedNote);
+  private boolean staged = false;
+  private boolean released = false;
+  private boolean reachedSpeedWhileFeeding = false;
+
+  /**
+   * Creates the conveyor subsystem.
+   *
+   * @param io The {@link ConveyorIO} implementation to drive, real, simulated or replayed.
+   */
+  public ConveyorSubsystem(ConveyorIO io) {
+    RobotLog.info(Tag.CONVEYOR, "ConveyorSubsystem initialized.");
+    this.io = io;
+  }
+
+  @Override
+  public void periodic() {
+    periodicProfile.start();
+    io.updateInputs(inputs);
+    Logger.processInputs("Conveyor", inputs);
+    updateFlywheelReadiness();
+    updateNoteState();
+    periodicProfile.stop();
+  }
+
+  /**
+   * Set the source for whether the downward-facing conveyor camera sees a note.
+   *
+   * @param noteInView True while the camera has a note in view.
+   */
+  public void setNoteCamera(BooleanSupplier noteInView) {
+    this.noteInView = noteInView;
+  }
+
+  /**
+   * Track the note through the conveyor.
+   *
+   * <p>A note is staged when the conveyor camera sees it, or when the conveyor stalls against the
+   * stopped flywheel, which is high current while it turns well under free speed once it has had
+   * time to start. It is released when, while feeding, the flywheel dips under its setpoint as the
+   * note passes through, or the camera loses a staged note.
+   */
+  private void updateNoteState() {
+    boolean wasStaged = staged;
+    boolean stalled =
+        conveyorStall.calculate(
+                conveyorFeeding,
+                inputs.conveyorAppliedOutput,
+                inputs.conveyorVelocityRPM,
+                inputs.conveyorCurrentAmps[0])
+            && flywheelSetpointRPM == 0;
+    staged = stagedDebouncer.calculate(noteInView.getAsBoolean() || stalled);
+
+    if (conveyorFeeding && flywheelSetpointRPM != 0) {
+      reachedSpeedWhileFeeding |= flywheelAtSpeed;
+      boolean dipped =
+          reachedSpeedWhileFeeding
+              && Math.abs(flywheelSetpointRPM) - Math.abs(inputs.flywheelVelocityRPM)
+                  > Flywheel.RELEASE_DIP_RPM;
+      if (!released && (dipped || (wasStaged && !staged))) {
+        released = true;
+        // How far off the shot was, taken as the note leaves rather than when the feed starts
+        Logger.recordOutput(
+            "Flywheel/ReleaseErrorRPM", flywheelSetpointRPM - inputs.flywheelVelocityRPM);
+      }
+    }
+    Logger.recordOutput("Notes/Staged", staged);
+    Logger.recordOutput("Notes/Released", released);
+  }
+
+  /**
+   * Whether a note is sitting in the conveyor ready to shoot.
+   *
+   * @return True while a note is staged.
+   */
+  public boolean isNoteStaged() {
+    return staged;
+  }
+
+  /**
+   * Whether the note has left through the flywheel since the conveyor last started feeding.
+   *
+   * @return True once the note has been released.
+   */
+  public boolean hasReleasedNote() {
+    return released;
+  }
+
+  /**
+   * Get a trigger that is active while a note is staged in the conveyor.
+   *
+   * @return The note staged trigger.
+   */
+  public Trigger noteStaged() {
+    return noteStaged;
+  }
+
+  /**
+   * Get a trigger that is active once the note has been released since the conveyor last started
+   * feeding.
+   *
+   * @return The note released trigger.
+   */
+  public Trigger noteReleased() {
+    return noteReleased;
+  }
+
+  /**
+   * Track whether the flywheel is at its setpoint and log the spin-up time when it first gets
+   * there.
+   */
+  private void updateFlywheelReadiness() {
+    double errorRPM = flywheelSetpointRPM - inputs.flywheelVelocityRPM;
+    boolean wasAtSpeed = flywheelAtSpeed;
+    flywheelAtSpeed =
+        atSpeedDebouncer.calculate(
+            flywheelSetpointRPM != 0 && Math.abs(errorRPM) < Flywheel.AT_SPEED_TOLERANCE_RPM);
+    if (flywheelAtSpeed && !wasAtSpeed && !Double.isNaN(spinUpStartTime)) {
+      Logger.recordOutput("Flywheel/SpinUpSeconds", Timer.getFPGATimestamp() - spinUpStartTime);
+      spinUpStartTime = Double.NaN;
+    }
+
+    double now = Timer.getFPGATimestamp();
+    while (!shotTimes.isEmpty() && now - shotTimes.peekFirst() > Flywheel.SHOT_RATE_WINDOW) {
+      shotTimes.removeFirst();
+    }
+    Logger.recordOutput("Flywheel/SetpointRPM", flywheelSetpointRPM);
+    Logger.recordOutput("Flywheel/ErrorRPM", errorRPM);
+    Logger.recordOutput("Flywheel/AtSpeed", flywheelAtSpeed);
+    Logger.recordOutput(
+        "Flywheel/ShotsPerMinute", shotTimes.size() * 60.0 / Flywheel.SHOT_RATE_WINDOW);
+  }
+
+  /**
+   * Run the conveyor at a set speed in the {@link Conveyor} class.
+   *
+   * @param isReversed Whether or not to reverse the conveyor.
+   */
+  public void runConveyor(boolean isReversed) {
+    double conveyorMotorSpeed = Conveyor.CONVEYOR_MOTOR_SPEED;
+    if (isReversed) {
+      conveyorMotorSpeed *= -1;
+    }
+    if (!isReversed && !conveyorFeeding) {
+      released = false;
+      reachedSpeedWhileFeeding = false;
+      // Count a shot when the conveyor starts feeding into a spinning flywheel
+      if (flywheelSetpointRPM != 0) {
+        shotTimes.addLast(Timer.getFPGATimestamp());
+      }
+    }
+    conveyorFeeding = !isReversed;
+    io.setConveyorSpeed(conveyorMotorSpeed);
+  }
+
+  /** Stop the conveyor. */
+  public void stopConveyor() {
+    conveyorFeeding = false;
+    io.setConveyorSpeed(0);
+  }
+
+  /**
+   * Run the flywheel closed loop at a set velocity in the {@link Flywheel} class.
+   *
+   * @param speed The speed to run the flywheel at.
+   * @param isReversed Whether or not to reverse the flywheel.
+   */
+  public void runFlywheel(FlywheelSpeed speed, boolean isReversed) {
+    double flywheelRPM = speed.getRPM();
+    if (isReversed) {
+      flywheelRPM *= -1;
+    }
+    if (flywheelRPM != flywheelSetpointRPM) {
+      flywheelSetpointRPM = flywheelRPM;
+      spinUpStartTime = Timer.getFPGATimestamp();
+      atSpeedDebouncer.calculate(false);
+      flywheelAtSpeed = false;
+    }
+    io.setFlywheelVelocity(flywheelRPM);
+  }
+
+  /** Stop the flywheel, letting it spin down instead of braking it with the velocity loop. */
+  public void stopFlywheel() {
+    flywheelSetpointRPM = 0;
+    spinUpStartTime = Double.NaN;
+    atSpeedDebouncer.calculate(false);
+    flywheelAtSpeed = false;
+    io.setFlywheelSpeed(0);
+  }
+
+  /**
+   * Whether the flywheel has held its setpoint for {@link Flywheel#AT_SPEED_DEBOUNCE}, so a note
+   * fed now leaves at the intended speed.
+   *
+   * @return True when the flywheel is ready to shoot.
+   */
+  public boolean isFlywheelAtSpeed() {
+    return flywheelAtSpeed;
+  }
+
+  /**
+   * Run the conveyor and flywheel at a set speed in the {@link Conveyor} and {@link Flywheel}
+   * class.
+   */
+  public void runConveyorAndFlywheel() {
+    runConveyor(false);
+    runFlywheel(FlywheelSpeed.NORMAL, false);
+  }
+
+  /** Stop the conveyor and flywheel. */
+  public void stopConveyorAndFlywheel() {
+    stopConveyor();
+    stopFlywheel();
+  }
+
+  /**
+   * Reverse the conveyor and flywheel at a set speed in the {@link Conveyor} and {@link Flywheel}
+   * class.
+   */
+  public void reverseConveyorAndFlywheel() {
+    runConveyor(false);
+    runFlywheel(FlywheelSpeed.NORMAL, true);
+  }
+
+  public enum FlywheelSpeed {
+    LOW(Flywheel.FLYWHEEL_RPM_LOW),
+    NORMAL(Flywheel.FLYWHEEL_RPM_NORMAL),
+    HIGH(Flywheel.FLYWHEEL_RPM_HIGH);
+
+    private double rpm;
+
+    FlywheelSpeed(double rpm) {
+      this.rpm = rpm;
+    }
+
+    public double getRPM() {
+      return rpm;
+    }
+  }
+}
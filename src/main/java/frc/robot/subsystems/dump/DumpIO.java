@@ -0,0 +1,31 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.dump;
+
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Hardware interface for the dump bed solenoid.
+ *
+ * <p>The default methods do nothing, which is what log replay uses: inputs come from the log and
+ * outputs go nowhere.
+ */
+public interface DumpIO {
+  /** Inputs read from the dump bed every loop. */
+  @AutoLog
+  public static class DumpIOInputs {
+    public boolean extended = false;
+  }
+
+  /** Updates the set of loggable inputs. */
+  public default void updateInputs(DumpIOInputs inputs) {}
+
+  /**
+   * Extend or retract the dump bed.
+   *
+   * @param extended Whether the dump bed should be extended.
+   */
+  public default void setExtended(boolean extended) {}
+}
@@ -0,0 +1,36 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.dump;
+
+import edu.wpi.first.wpilibj.DoubleSolenoid;
+import edu.wpi.first.wpilibj.PneumaticsModuleType;
+import frc.robot.Constants.HardwareConstants;
+import frc.robot.util.DedupedOutput;
+
+/** The dump bed on a double solenoid on the REV Pneumatic Hub. */
+public class DumpIOSolenoid implements DumpIO {
+  private final DoubleSolenoid solenoid =
+      new DoubleSolenoid(
+          HardwareConstants.REV_PCM_ID,
+          PneumaticsModuleType.REVPH,
+          HardwareConstants.PneumaticsChannels.DUMP_OUT,
+          HardwareConstants.PneumaticsChannels.DUMP_IN);
+  private final DedupedOutput output = new DedupedOutput("DumpSolenoid", this::write);
+
+  @Override
+  public void updateInputs(DumpIOInputs inputs) {
+    inputs.extended = solenoid.get() == DoubleSolenoid.Value.kReverse;
+  }
+
+  @Override
+  public void setExtended(boolean extended) {
+    output.set(extended ? 1 : 0);
+  }
+
+  /** Writes 1 as extended and 0 as retracted, so the solenoid can go through a DedupedOutput. */
+  private void write(double extended) {
+    solenoid.set(extended > 0 ? DoubleSolenoid.Value.kReverse : DoubleSolenoid.Value.kForward);
+  }
+}
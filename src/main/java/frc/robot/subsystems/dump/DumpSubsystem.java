@@ -0,0 +1,84 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.dump;
+
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.Telemetry;
+import org.littletonrobotics.junction.Logger;
+
+public class DumpSubsystem extends SubsystemBase {
+  private final LoopProfiler.Section periodicProfile =
+      LoopProfiler.getInstance().section(getName() + ".periodic()");
+  private final DumpIO io;
+  private final DumpIOInputsAutoLogged inputs = new DumpIOInputsAutoLogged();
+  private boolean isDumped = false;
+  private final Trigger dumped = new Trigger(this::isDumped);
+  private final Telemetry.BooleanValue dumpedTelemetry =
+      Telemetry.getInstance().getBoolean(getName());
+
+  /**
+   * Creates a dump subsystem.
+   *
+   * <p>When the robot is initialized, the dump is retracted to avoid damage and the state of the
+   * dump is set to false.
+   *
+   * <p>When the robot is dumping, the dump is extended which activates the dump bed when dumping a
+   * Note into the AMP.
+   *
+   * <p>When the robot is not dumping, the dump is retracted to avoid damage.
+   *
+   * @param io The {@link DumpIO} implementation to drive, real, simulated or replayed.
+   */
+  public DumpSubsystem(DumpIO io) {
+    RobotLog.info(Tag.DUMP, "DumpSubsystem initialized.");
+    this.io = io;
+    retract();
+    dumpedTelemetry.set(isDumped);
+  }
+
+  @Override
+  public void periodic() {
+    periodicProfile.start();
+    io.updateInputs(inputs);
+    Logger.processInputs("Dump", inputs);
+    periodicProfile.stop();
+  }
+
+  /** Dumps the dump bed. */
+  public void extend() {
+    io.setExtended(true);
+    isDumped = true;
+    dumpedTelemetry.set(isDumped);
+  }
+
+  /**
+   * Whether the dump bed is extended.
+   *
+   * @return True while the dump bed is extended.
+   */
+  public boolean isDumped() {
+    return isDumped;
+  }
+
+  /**
+   * Get a trigger that is active while the dump bed is extended.
+   *
+   * @return The dumped trigger.
+   */
+  public Trigger dumped() {
+    return dumped;
+  }
+
+  /** Retracts the dump bed. */
+  public void retract() {
+    io.setExtended(false);
+    isDumped = false;
+    dumpedTelemetry.set(isDumped);
+  }
+}
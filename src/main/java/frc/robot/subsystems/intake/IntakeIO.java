@@ -0,0 +1,43 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.intake;
+
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Hardware interface for the intake.
+ *
+ * <p>The default methods do nothing, which is what log replay uses: inputs come from the log and
+ * outputs go nowhere.
+ */
+public interface IntakeIO {
+  /** Inputs read from the intake every loop. */
+  @AutoLog
+  public static class IntakeIOInputs {
+    public double sushiAppliedOutput = 0.0;
+    public double sushiVelocityRPM = 0.0;
+    public double sushiCurrentAmps = 0.0;
+    public double frontAppliedOutput = 0.0;
+    public double frontVelocityRPM = 0.0;
+    public double frontCurrentAmps = 0.0;
+  }
+
+  /** Updates the set of loggable inputs. */
+  public default void updateInputs(IntakeIOInputs inputs) {}
+
+  /**
+   * Run the intake sushi motor open loop.
+   *
+   * @param speed Duty cycle from -1 to 1.
+   */
+  public default void setSushiSpeed(double speed) {}
+
+  /**
+   * Run the intake front motor open loop.
+   *
+   * @param speed Duty cycle from -1 to 1.
+   */
+  public default void setFrontSpeed(double speed) {}
+}
@@ -0,0 +1,48 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.intake;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import frc.robot.Constants;
+import frc.robot.Constants.MechanismConstants.Intake;
+
+/** Simulated intake, modeled as two free-spinning NEO rollers. */
+public class IntakeIOSim implements IntakeIO {
+  private final DCMotorSim sushiSim =
+      new DCMotorSim(DCMotor.getNEO(1), Intake.SIM_GEARING, Intake.SIM_MOI);
+  private final DCMotorSim frontSim =
+      new DCMotorSim(DCMotor.getNEO(1), Intake.SIM_GEARING, Intake.SIM_MOI);
+  private double sushiSpeed = 0.0;
+  private double frontSpeed = 0.0;
+
+  @Override
+  public void updateInputs(IntakeIOInputs inputs) {
+    double batteryVoltage = RobotController.getBatteryVoltage();
+    sushiSim.setInputVoltage(sushiSpeed * batteryVoltage);
+    frontSim.setInputVoltage(frontSpeed * batteryVoltage);
+    sushiSim.update(Constants.LOOP_PERIOD);
+    frontSim.update(Constants.LOOP_PERIOD);
+
+    inputs.sushiAppliedOutput = sushiSpeed;
+    inputs.sushiVelocityRPM = sushiSim.getAngularVelocityRPM();
+    inputs.sushiCurrentAmps = sushiSim.getCurrentDrawAmps();
+    inputs.frontAppliedOutput = frontSpeed;
+    inputs.frontVelocityRPM = frontSim.getAngularVelocityRPM();
+    inputs.frontCurrentAmps = frontSim.getCurrentDrawAmps();
+  }
+
+  @Override
+  public void setSushiSpeed(double speed) {
+    sushiSpeed = MathUtil.clamp(speed, -1.0, 1.0);
+  }
+
+  @Override
+  public void setFrontSpeed(double speed) {
+    frontSpeed = MathUtil.clamp(speed, -1.0, 1.0);
+  }
+}
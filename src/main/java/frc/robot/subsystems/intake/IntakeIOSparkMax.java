@@ -0,0 +1,63 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.intake;
+
+import com.revrobotics.CANSparkBase.IdleMode;
+import com.revrobotics.CANSparkLowLevel.MotorType;
+import com.revrobotics.CANSparkMax;
+import frc.robot.Constants.MechanismConstants.Intake;
+import frc.robot.util.DedupedOutput;
+import frc.robot.util.StatusFrameProfile;
+
+/** Intake hardware on two SPARK MAX controllers. */
+public class IntakeIOSparkMax implements IntakeIO {
+  private final CANSparkMax intakeSushi =
+      new CANSparkMax(Intake.INTAKE_SUSHI, MotorType.kBrushless);
+  private final CANSparkMax intakeFront =
+      new CANSparkMax(Intake.INTAKE_FRONT, MotorType.kBrushless);
+  private final DedupedOutput sushiOutput = new DedupedOutput("IntakeSushi", intakeSushi::set);
+  private final DedupedOutput frontOutput = new DedupedOutput("IntakeFront", intakeFront::set);
+
+  /**
+   * Creates the intake hardware.
+   *
+   * <p>When the robot is initialized, the intake sushi and front motors are set to brake mode.
+   *
+   * <p>When the robot is initialized, the intake sushi and front motors are set to their respective
+   * inverted values.
+   *
+   * <p>Both motors use the slow {@link StatusFrameProfile#INTAKE} status frames.
+   */
+  public IntakeIOSparkMax() {
+    intakeSushi.setInverted(Intake.INTAKE_SUSHI_INVERTED);
+    intakeFront.setInverted(Intake.INTAKE_FRONT_INVERTED);
+
+    intakeFront.setIdleMode(IdleMode.kBrake);
+    intakeSushi.setIdleMode(IdleMode.kBrake);
+
+    StatusFrameProfile.INTAKE.apply("IntakeSushi", intakeSushi);
+    StatusFrameProfile.INTAKE.apply("IntakeFront", intakeFront);
+  }
+
+  @Override
+  public void updateInputs(IntakeIOInputs inputs) {
+    inputs.sushiAppliedOutput = intakeSushi.getAppliedOutput();
+    inputs.sushiVelocityRPM = intakeSushi.getEncoder().getVelocity();
+    inputs.sushiCurrentAmps = intakeSushi.getOutputCurrent();
+    inputs.frontAppliedOutput = intakeFront.getAppliedOutput();
+    inputs.frontVelocityRPM = intakeFront.getEncoder().getVelocity();
+    inputs.frontCurrentAmps = intakeFront.getOutputCurrent();
+  }
+
+  @Override
+  public void setSushiSpeed(double speed) {
+    sushiOutput.set(speed);
+  }
+
+  @Override
+  public void setFrontSpeed(double speed) {
+    frontOutput.set(speed);
+  }
+}
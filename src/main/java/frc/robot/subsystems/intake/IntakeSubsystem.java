@@ -0,0 +1,143 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.intake;
+
+import edu.wpi.first.math.filter.Debouncer;
+import edu.wpi.first.math.filter.Debouncer.DebounceType;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj2.command.button.Trigger;
+import frc.robot.Constants.MechanismConstants.Intake;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.RollerStallDetector;
+import org.littletonrobotics.junction.Logger;
+
+public class IntakeSubsystem extends SubsystemBase {
+  private final LoopProfiler.Section periodicProfile =
+      LoopProfiler.getInstance().section(getName() + ".periodic()");
+  private final IntakeIO io;
+  private final IntakeIOInputsAutoLogged inputs = new IntakeIOInputsAutoLogged();
+
+  private final RollerStallDetector sushiStall =
+      new RollerStallDetector(
+          Intake.NOTE_CURRENT_AMPS, Intake.NOTE_SPEED_FRACTION, Intake.SPIN_UP_TIME);
+  private final Debouncer noteDebouncer = new Debouncer(Intake.NOTE_DEBOUNCE, DebounceType.kRising);
+  private final Trigger noteAcquired = new Trigger(this::hasAcquiredNote);
+  private boolean intaking = false;
+  private boolean acquired = false;
+
+  /**
+   * Creates the intake subsystem.
+   *
+   * @param io The {@link IntakeIO} implementation to drive, real, simulated or replayed.
+   */
+  public IntakeSubsystem(IntakeIO io) {
+    RobotLog.info(Tag.INTAKE, "IntakeSubsystem initialized.");
+    this.io = io;
+  }
+
+  @Override
+  public void periodic() {
+    periodicProfile.start();
+    io.updateInputs(inputs);
+    Logger.processInputs("Intake", inputs);
+
+    // The sushi rollers slow down and draw more current against a note, so a sustained stall
+    // while intaking means one was picked up. Start-up current is not mistaken for one.
+    boolean noteInRollers =
+        sushiStall.calculate(
+            intaking, inputs.sushiAppliedOutput, inputs.sushiVelocityRPM, inputs.sushiCurrentAmps);
+    if (noteDebouncer.calculate(noteInRollers)) {
+      acquired = true;
+    }
+    Logger.recordOutput("Notes/Acquired", acquired);
+    periodicProfile.stop();
+  }
+
+  /**
+   * Whether a note has been picked up and is still in the robot.
+   *
+   * @return True from when the rollers are loaded by a note until it is shot or ejected.
+   */
+  public boolean hasAcquiredNote() {
+    return acquired;
+  }
+
+  /**
+   * Get a trigger that is active from when a note is picked up until it is shot or ejected.
+   *
+   * @return The note acquired trigger.
+   */
+  public Trigger noteAcquired() {
+    return noteAcquired;
+  }
+
+  /** Forget the acquired note, once it has left the robot through the shooter or dump. */
+  public void clearAcquiredNote() {
+    acquired = false;
+  }
+
+  /**
+   * Run the intake at a set speed in the {@link Intake} class.
+   *
+   * @param isReversed Whether or not to reverse the intake.
+   */
+  public void runIntake(boolean isReversed) {
+    double intakeSushiSpeed = Intake.INTAKE_SUSHI_SPEED;
+    double intakeFrontSpeed = Intake.INTAKE_FRONT_SPEED;
+    if (isReversed) {
+      intakeSushiSpeed *= -1;
+      intakeFrontSpeed *= -1;
+      acquired = false;
+    }
+    intaking = !isReversed;
+    io.setSushiSpeed(intakeSushiSpeed);
+    io.setFrontSpeed(intakeFrontSpeed);
+  }
+
+  /** Stop the intake. */
+  public void stopIntake() {
+    intaking = false;
+    io.setSushiSpeed(0);
+    io.setFrontSpeed(0);
+  }
+
+  /**
+   * Run the intake sushi at a set speed in the {@link Intake} class.
+   *
+   * @param isReversed Whether or not to reverse the intake sushi.
+   */
+  public void runIntakeSushi(boolean isReversed) {
+    double intakeSushiSpeed = Intake.INTAKE_SUSHI_SPEED;
+    if (isReversed) {
+      intakeSushiSpeed *= -1;
+    }
+    io.setSushiSpeed(intakeSushiSpeed);
+  }
+
+  /** Stop the intake sushi. */
+  public void stopIntakeSushi() {
+    io.setSushiSpeed(0);
+  }
+
+  /**
+   * Run the intake front at a set speed in the {@link Intake} class.
+   *
+   * @param isReversed Whether or not to reverse the intake front.
+   */
+  public void runIntakeFront(boolean isReversed) {
+    double intakeFrontSpeed = Intake.INTAKE_FRONT_SPEED;
+    if (isReversed) {
+      intakeFrontSpeed *= -1;
+    }
+    io.setFrontSpeed(intakeFrontSpeed);
+  }
+
+  /** Stop the intake front. */
+  public void stopIntakeFront() {
+    io.setFrontSpeed(0);
+  }
+}
@@ -0,0 +1,134 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.swerve;
+
+import com.kauailabs.navx.frc.AHRS;
+import edu.wpi.first.math.geometry.Quaternion;
+import edu.wpi.first.math.geometry.Rotation3d;
+import edu.wpi.first.math.geometry.Translation3d;
+import edu.wpi.first.wpilibj.SPI;
+import frc.robot.Constants.DrivebaseConstants;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import java.util.Optional;
+import swervelib.imu.SwerveIMU;
+import swervelib.parser.json.DeviceJson;
+import swervelib.parser.json.SwerveDriveJson;
+
+/**
+ * A NavX on the MXP SPI port, updating at a chosen rate.
+ *
+ * <p>YAGSL's own NavX support always uses the NavX default of about 60 Hz, and the rate can only be
+ * set when the {@link AHRS} is constructed. Odometry sampled faster than that only repeats stale
+ * yaw readings, so {@link #install(SwerveDriveJson)} swaps this in for the configured NavX before
+ * the drive is created. Otherwise it behaves like YAGSL's NavX.
+ */
+public class NavXSwerveIMU extends SwerveIMU {
+  private static final String NAVX_SPI = "navx_spi";
+
+  private final AHRS gyro;
+  private Rotation3d offset = new Rotation3d();
+  private boolean inverted = false;
+
+  /**
+   * Create the NavX.
+   *
+   * @param port SPI port the NavX is on.
+   * @param updateRateHz Rate the NavX sends new readings at, 4 to 200 Hz.
+   */
+  public NavXSwerveIMU(SPI.Port port, int updateRateHz) {
+    gyro = new AHRS(port, (byte) updateRateHz);
+    factoryDefault();
+  }
+
+  /**
+   * Replace a NavX on SPI in the parsed drive configuration with one updating at {@link
+   * DrivebaseConstants#NAVX_UPDATE_RATE_HZ}. Call after the {@code SwerveParser} has read the
+   * configuration and before it creates the drive. Any other IMU is left alone.
+   *
+   * @param json The parsed {@code swervedrive.json}.
+   */
+  public static void install(SwerveDriveJson json) {
+    DeviceJson configured = json.imu;
+    if (configured == null || !NAVX_SPI.equals(configured.type)) {
+      return;
+    }
+    DeviceJson navx =
+        new DeviceJson() {
+          @Override
+          public SwerveIMU createIMU() {
+            return new NavXSwerveIMU(SPI.Port.kMXP, DrivebaseConstants.NAVX_UPDATE_RATE_HZ);
+          }
+        };
+    navx.type = configured.type;
+    navx.id = configured.id;
+    navx.canbus = configured.canbus;
+    json.imu = navx;
+    RobotLog.info(
+        Tag.SWERVE, "NavX update rate set to " + DrivebaseConstants.NAVX_UPDATE_RATE_HZ + " Hz");
+  }
+
+  @Override
+  public void factoryDefault() {
+    offset = readRotation3d();
+  }
+
+  @Override
+  public void clearStickyFaults() {}
+
+  @Override
+  public void setOffset(Rotation3d offset) {
+    this.offset = offset;
+  }
+
+  @Override
+  public void setInverted(boolean invertIMU) {
+    inverted = invertIMU;
+  }
+
+  @Override
+  public Rotation3d getRawRotation3d() {
+    Rotation3d rotation = readRotation3d();
+    return inverted ? rotation.unaryMinus() : rotation;
+  }
+
+  @Override
+  public Rotation3d getRotation3d() {
+    return getRawRotation3d().minus(offset);
+  }
+
+  @Override
+  public Optional<Translation3d> getAccel() {
+    return Optional.of(
+        new Translation3d(
+                gyro.getWorldLinearAccelX(),
+                gyro.getWorldLinearAccelY(),
+                gyro.getWorldLinearAccelZ())
+            .times(9.81));
+  }
+
+  /**
+   * Get the yaw rate, for YAGSL versions that ask the IMU for it.
+   *
+   * @return Yaw rate in degrees per second.
+   */
+  public double getRate() {
+    return gyro.getRate();
+  }
+
+  @Override
+  public Object getIMU() {
+    return gyro;
+  }
+
+  private Rotation3d readRotation3d() {
+    return new Rotation3d(
+        new Quaternion(
+            gyro.getQuaternionW(),
+            gyro.getQuaternionX(),
+            gyro.getQuaternionY(),
+            gyro.getQuaternionZ()));
+  }
+}
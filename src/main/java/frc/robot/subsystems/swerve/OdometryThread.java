@@ -0,0 +1,175 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.swerve;
+
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.ThreadPriorities;
+import java.util.concurrent.atomic.AtomicLong;
+import org.littletonrobotics.junction.Logger;
+import swervelib.SwerveDrive;
+
+/**
+ * Samples the swerve module positions and gyro yaw on a dedicated thread, independent of the main
+ * robot loop.
+ *
+ * <p>Samples are timestamped and pushed into a single-producer, single-consumer ring buffer that is
+ * preallocated at construction. The main loop drains the buffer through {@link
+ * #drain(SampleConsumer)} and replays every sample into the pose estimator, so each step is
+ * integrated at the time its readings were taken and a late loop does not merge two steps. Sampling
+ * faster than the encoders and gyro report only repeats stale readings, so the rate should match
+ * their status frames.
+ *
+ * <p>When the buffer is full the newest sample is dropped rather than blocking the sampling thread.
+ */
+public class OdometryThread {
+  private final SwerveDrive swerveDrive;
+  private final Notifier notifier;
+  private boolean priorityConfigured = false;
+  private final int moduleCount;
+  private final int mask;
+
+  private final double[] timestamps;
+  private final double[] yaws;
+  private final double[] distances;
+  private final double[] angles;
+
+  // Reused for every drained sample
+  private final double[] sampleDistances;
+  private final double[] sampleAngles;
+
+  // Producer owns writeIndex, consumer owns readIndex. Both only ever increase.
+  private final AtomicLong writeIndex = new AtomicLong();
+  private final AtomicLong readIndex = new AtomicLong();
+  private final AtomicLong droppedSamples = new AtomicLong();
+
+  private long samplesAtLastReport = 0;
+  private double lastReportTime = 0;
+  private double sampleRate = 0;
+
+  /** Receives samples drained from the ring buffer on the main thread. */
+  @FunctionalInterface
+  public interface SampleConsumer {
+    /**
+     * Called once per drained sample, oldest first. The module arrays are reused for every sample
+     * and must not be kept.
+     *
+     * @param timestamp FPGA timestamp the sample was taken at, in seconds.
+     * @param yawRad Gyro yaw at the time of the sample, in radians.
+     * @param distancesMeters Module drive distances at the time of the sample.
+     * @param anglesRad Module angles at the time of the sample, in radians.
+     */
+    void accept(double timestamp, double yawRad, double[] distancesMeters, double[] anglesRad);
+  }
+
+  /**
+   * Creates the odometry thread. The thread is not started until {@link #start(double)} is called.
+   *
+   * @param swerveDrive The {@link SwerveDrive} to sample.
+   * @param bufferSize Number of samples the ring buffer holds, rounded up to a power of two.
+   */
+  public OdometryThread(SwerveDrive swerveDrive, int bufferSize) {
+    this.swerveDrive = swerveDrive;
+    this.moduleCount = swerveDrive.getModules().length;
+
+    int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+    mask = capacity - 1;
+    timestamps = new double[capacity];
+    yaws = new double[capacity];
+    distances = new double[capacity * moduleCount];
+    angles = new double[capacity * moduleCount];
+    sampleDistances = new double[moduleCount];
+    sampleAngles = new double[moduleCount];
+
+    notifier = new Notifier(this::sample);
+    notifier.setName("OdometryThread");
+  }
+
+  /**
+   * Start sampling.
+   *
+   * @param frequency Sample rate in Hz.
+   */
+  public void start(double frequency) {
+    lastReportTime = Timer.getFPGATimestamp();
+    notifier.startPeriodic(1.0 / frequency);
+  }
+
+  /** Stop sampling. Samples already in the buffer can still be drained. */
+  public void stop() {
+    notifier.stop();
+  }
+
+  /**
+   * Runs on the notifier thread. The readings are taken under YAGSL's odometry lock, which the main
+   * loop only holds while it updates the pose estimator, and the thread never waits on a drain.
+   */
+  private void sample() {
+    if (!priorityConfigured) {
+      ThreadPriorities.configureControlThread();
+      priorityConfigured = true;
+    }
+    long write = writeIndex.get();
+    if (write - readIndex.get() > mask) {
+      droppedSamples.incrementAndGet();
+      return;
+    }
+
+    int slot = (int) (write & mask);
+    int offset = slot * moduleCount;
+    swerveDrive.odometryLock.lock();
+    try {
+      SwerveModulePosition[] positions = swerveDrive.getModulePositions();
+      yaws[slot] = swerveDrive.getYaw().getRadians();
+      timestamps[slot] = Timer.getFPGATimestamp();
+      for (int i = 0; i < moduleCount; i++) {
+        distances[offset + i] = positions[i].distanceMeters;
+        angles[offset + i] = positions[i].angle.getRadians();
+      }
+    } finally {
+      swerveDrive.odometryLock.unlock();
+    }
+
+    // Publish the slot only after it has been fully written
+    writeIndex.lazySet(write + 1);
+  }
+
+  /**
+   * Drain every buffered sample into the consumer, oldest first. Must only be called from the main
+   * robot thread.
+   *
+   * @param consumer Receives each sample.
+   * @return The number of samples drained.
+   */
+  public int drain(SampleConsumer consumer) {
+    long read = readIndex.get();
+    long write = writeIndex.get();
+    int count = (int) (write - read);
+    double now = Timer.getFPGATimestamp();
+    double oldest = count > 0 ? timestamps[(int) (read & mask)] : now;
+
+    for (; read < write; read++) {
+      int slot = (int) (read & mask);
+      int offset = slot * moduleCount;
+      System.arraycopy(distances, offset, sampleDistances, 0, moduleCount);
+      System.arraycopy(angles, offset, sampleAngles, 0, moduleCount);
+      consumer.accept(timestamps[slot], yaws[slot], sampleDistances, sampleAngles);
+    }
+    readIndex.lazySet(write);
+
+    if (now - lastReportTime >= 1.0) {
+      sampleRate = (write - samplesAtLastReport) / (now - lastReportTime);
+      samplesAtLastReport = write;
+      lastReportTime = now;
+    }
+
+    Logger.recordOutput("Odometry/SampleRateHz", sampleRate);
+    Logger.recordOutput("Odometry/SamplesPerCycle", count);
+    Logger.recordOutput("Odometry/DroppedSamples", droppedSamples.get());
+    Logger.recordOutput("Odometry/DrainLatencyMs", (now - oldest) * 1000.0);
+    return count;
+  }
+}
@@ -0,0 +1,42 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.swerve;
+
+import frc.robot.Constants.DrivebaseConstants;
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Sensor interface for the swerve drive: the gyro and the module encoders.
+ *
+ * <p>The pose estimator is fed from the odometry samples in these inputs, so a replayed log
+ * integrates exactly the readings the robot did. The default implementation supplies nothing, which
+ * is what log replay uses.
+ */
+public interface SwerveIO {
+  /**
+   * Readings taken since the last loop. Module arrays are in YAGSL module order. The odometry
+   * arrays hold up to {@link DrivebaseConstants#ODOMETRY_BUFFER_SIZE} samples and are reused, only
+   * the first {@code odometrySampleCount} are this loop's.
+   */
+  @AutoLog
+  public static class SwerveIOInputs {
+    public double gyroYawRad = 0.0;
+    public double[] moduleDistancesMeters = new double[DrivebaseConstants.MODULE_COUNT];
+    public double[] moduleAnglesRad = new double[DrivebaseConstants.MODULE_COUNT];
+    public double[] moduleVelocitiesMetersPerSec = new double[DrivebaseConstants.MODULE_COUNT];
+
+    public int odometrySampleCount = 0;
+    public double[] odometryTimestamps = new double[DrivebaseConstants.ODOMETRY_BUFFER_SIZE];
+    public double[] odometryYawsRad = new double[DrivebaseConstants.ODOMETRY_BUFFER_SIZE];
+    // Sample i's modules start at i * MODULE_COUNT
+    public double[] odometryDistancesMeters =
+        new double[DrivebaseConstants.ODOMETRY_BUFFER_SIZE * DrivebaseConstants.MODULE_COUNT];
+    public double[] odometryAnglesRad =
+        new double[DrivebaseConstants.ODOMETRY_BUFFER_SIZE * DrivebaseConstants.MODULE_COUNT];
+  }
+
+  /** Updates the set of loggable inputs. */
+  public default void updateInputs(SwerveIOInputs inputs) {}
+}
@@ -0,0 +1,93 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.swerve;
+
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants.DrivebaseConstants;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import swervelib.SwerveDrive;
+import swervelib.SwerveModule;
+
+/**
+ * Reads the gyro and module encoders through YAGSL.
+ *
+ * <p>With {@link DrivebaseConstants#HIGH_FREQUENCY_ODOMETRY} the odometry samples are drained from
+ * an {@link OdometryThread}. Otherwise each loop contributes one sample, taken when the inputs are
+ * updated.
+ */
+public class SwerveIOYAGSL implements SwerveIO {
+  private final SwerveDrive swerveDrive;
+  private final SwerveModule[] modules;
+  private final int moduleCount;
+
+  /** High-rate odometry sampler, null unless enabled in {@link DrivebaseConstants}. */
+  private final OdometryThread odometryThread;
+
+  private final OdometryThread.SampleConsumer sampleConsumer = this::addOdometrySample;
+  private SwerveIOInputs sampleTarget;
+
+  /**
+   * Creates the IO and, if enabled, starts the odometry thread.
+   *
+   * @param swerveDrive The {@link SwerveDrive} to read.
+   */
+  public SwerveIOYAGSL(SwerveDrive swerveDrive) {
+    this.swerveDrive = swerveDrive;
+    modules = swerveDrive.getModules();
+    moduleCount = Math.min(modules.length, DrivebaseConstants.MODULE_COUNT);
+    if (DrivebaseConstants.HIGH_FREQUENCY_ODOMETRY) {
+      odometryThread = new OdometryThread(swerveDrive, DrivebaseConstants.ODOMETRY_BUFFER_SIZE);
+      odometryThread.start(DrivebaseConstants.ODOMETRY_FREQUENCY);
+      RobotLog.info(
+          Tag.SWERVE,
+          "Odometry thread started at " + DrivebaseConstants.ODOMETRY_FREQUENCY + " Hz");
+    } else {
+      odometryThread = null;
+    }
+  }
+
+  @Override
+  public void updateInputs(SwerveIOInputs inputs) {
+    inputs.gyroYawRad = swerveDrive.getYaw().getRadians();
+    for (int i = 0; i < moduleCount; i++) {
+      SwerveModulePosition position = modules[i].getPosition();
+      inputs.moduleDistancesMeters[i] = position.distanceMeters;
+      inputs.moduleAnglesRad[i] = position.angle.getRadians();
+      inputs.moduleVelocitiesMetersPerSec[i] = modules[i].getState().speedMetersPerSecond;
+    }
+
+    inputs.odometrySampleCount = 0;
+    if (odometryThread != null) {
+      sampleTarget = inputs;
+      odometryThread.drain(sampleConsumer);
+      sampleTarget = null;
+    } else {
+      inputs.odometryTimestamps[0] = Timer.getFPGATimestamp();
+      inputs.odometryYawsRad[0] = inputs.gyroYawRad;
+      System.arraycopy(
+          inputs.moduleDistancesMeters, 0, inputs.odometryDistancesMeters, 0, moduleCount);
+      System.arraycopy(inputs.moduleAnglesRad, 0, inputs.odometryAnglesRad, 0, moduleCount);
+      inputs.odometrySampleCount = 1;
+    }
+  }
+
+  /** Copy one drained sample into the inputs, dropping it if they are full. */
+  private void addOdometrySample(
+      double timestamp, double yawRad, double[] distancesMeters, double[] anglesRad) {
+    SwerveIOInputs inputs = sampleTarget;
+    int sample = inputs.odometrySampleCount;
+    if (sample >= inputs.odometryTimestamps.length) {
+      return;
+    }
+    inputs.odometryTimestamps[sample] = timestamp;
+    inputs.odometryYawsRad[sample] = yawRad;
+    int offset = sample * DrivebaseConstants.MODULE_COUNT;
+    System.arraycopy(distancesMeters, 0, inputs.odometryDistancesMeters, offset, moduleCount);
+    System.arraycopy(anglesRad, 0, inputs.odometryAnglesRad, offset, moduleCount);
+    inputs.odometrySampleCount = sample + 1;
+  }
+}
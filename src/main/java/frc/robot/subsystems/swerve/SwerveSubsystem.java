@@ -4,17 +4,23 @@
 
 package frc.robot.subsystems.swerve;
 
+import com.ctre.phoenix6.hardware.CANcoder;
 import com.pathplanner.lib.auto.AutoBuilder;
 import com.pathplanner.lib.commands.PathPlannerAuto;
 import com.pathplanner.lib.path.PathConstraints;
 import com.pathplanner.lib.path.PathPlannerPath;
 import com.pathplanner.lib.util.HolonomicPathFollowerConfig;
 import com.pathplanner.lib.util.ReplanningConfig;
+import com.revrobotics.CANSparkMax;
+import edu.wpi.first.math.Matrix;
 import edu.wpi.first.math.geometry.Pose2d;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.math.geometry.Translation2d;
 import edu.wpi.first.math.kinematics.ChassisSpeeds;
 import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
 import edu.wpi.first.math.trajectory.Trajectory;
 import edu.wpi.first.math.util.Units;
 import edu.wpi.first.wpilibj.DriverStation;
@@ -22,15 +28,22 @@ import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine.Config;
+import frc.robot.Constants;
 import frc.robot.Constants.AutonConstants;
+import frc.robot.Constants.DrivebaseConstants;
+import frc.robot.subsystems.vision.VisionCamera;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.StatusFrameProfile;
 import java.io.File;
 import java.util.function.DoubleSupplier;
+import java.util.function.Function;
 import org.littletonrobotics.junction.Logger;
-import org.photonvision.PhotonCamera;
-import org.photonvision.targeting.PhotonPipelineResult;
 import swervelib.SwerveController;
 import swervelib.SwerveDrive;
 import swervelib.SwerveDriveTest;
+import swervelib.SwerveModule;
 import swervelib.math.SwerveMath;
 import swervelib.parser.SwerveControllerConfiguration;
 import swervelib.parser.SwerveDriveConfiguration;
@@ -39,6 +52,8 @@ import swervelib.telemetry.SwerveDriveTelemetry;
 import swervelib.telemetry.SwerveDriveTelemetry.TelemetryVerbosity;
 
 public class SwerveSubsystem extends SubsystemBase {
+  private final LoopProfiler.Section periodicProfile =
+      LoopProfiler.getInstance().section(getName() + ".periodic()");
 
   /** Swerve drive object. */
   private final SwerveDrive swerveDrive;
@@ -46,12 +61,36 @@ public class SwerveSubsystem extends SubsystemBase {
   /** Maximum speed of the robot in meters per second, used to limit acceleration. */
   public double maximumSpeed = Units.feetToMeters(14.5);
 
+  /** Gyro and module encoder readings, logged every loop. */
+  private final SwerveIO io;
+
+  private final SwerveIOInputsAutoLogged inputs = new SwerveIOInputsAutoLogged();
+
+  /**
+   * Whether the pose estimator is fed from {@link #inputs} instead of YAGSL's own odometry loop.
+   * YAGSL only advances the simulated gyro from that loop, so in simulation it keeps ownership.
+   */
+  private final boolean feedsPoseEstimator;
+
+  /** Reused module positions for pose estimator updates. */
+  private final SwerveModulePosition[] odometryPositions;
+
+  /** Loops the robot has been stopped since the module encoders were last resynchronized. */
+  private int encoderSyncCounter = 0;
+
   /**
    * Initialize {@link SwerveDrive} with the directory provided.
    *
+   * <p>On the robot and in replay YAGSL's odometry loop is stopped and the pose estimator is
+   * updated in {@link #periodic()} from the logged {@link SwerveIO} inputs, so a replayed log
+   * reproduces the robot's odometry. The rest of that loop, the encoder resync and the telemetry,
+   * runs in {@link #periodic()} as well.
+   *
    * @param directory Directory of swerve drive config files.
+   * @param ioFactory Creates the {@link SwerveIO} implementation for the parsed drive, real or
+   *     replayed.
    */
-  public SwerveSubsystem(File directory) {
+  public SwerveSubsystem(File directory, Function<SwerveDrive, SwerveIO> ioFactory) {
     // Angle conversion factor is 360 / (GEAR RATIO * ENCODER RESOLUTION)
     //  In this case the gear ratio is 12.8 motor revolutions per wheel rotation.
     //  The encoder resolution per motor revolution is 1 per motor revolution.
@@ -62,10 +101,14 @@ public class SwerveSubsystem extends SubsystemBase {
     Logger.recordMetadata("driveConversionFactor", String.valueOf(driveConversionFactor));
 
     // Configure the Telemetry before creating the SwerveDrive to avoid unnecessary objects being
-    // created.
+    // created. Everything is created at HIGH so TelemetryTiers can switch between tiers later.
     SwerveDriveTelemetry.verbosity = TelemetryVerbosity.HIGH;
     try {
-      swerveDrive = new SwerveParser(directory).createSwerveDrive(maximumSpeed);
+      SwerveParser parser = new SwerveParser(directory);
+      if (DrivebaseConstants.HIGH_FREQUENCY_ODOMETRY) {
+        NavXSwerveIMU.install(SwerveParser.swerveDriveJson);
+      }
+      swerveDrive = parser.createSwerveDrive(maximumSpeed);
       // Alternative method if you don't want to supply the conversion factor via JSON files.
       // swerveDrive = new SwerveParser(directory).createSwerveDrive(maximumSpeed,
       // angleConversionFactor, driveConversionFactor);
@@ -77,9 +120,107 @@ public class SwerveSubsystem extends SubsystemBase {
     // Disables cosine compensation for simulations since it causes discrepancies not seen in real
     // life.
     swerveDrive.setCosineCompensator(!SwerveDriveTelemetry.isSimulation);
+    applyStatusFrameProfiles();
+    odometryPositions = new SwerveModulePosition[swerveDrive.getModules().length];
+    for (int i = 0; i < odometryPositions.length; i++) {
+      odometryPositions[i] = new SwerveModulePosition();
+    }
+    feedsPoseEstimator = Constants.CURRENT_MODE != Constants.Mode.SIM;
+    if (feedsPoseEstimator) {
+      swerveDrive.stopOdometryThread();
+    }
+    io = ioFactory.apply(swerveDrive);
     setupPathPlanner();
   }
 
+  /**
+   * Apply {@link StatusFrameProfile#SWERVE_ODOMETRY} to the module motors when the odometry thread
+   * samples them, or {@link StatusFrameProfile#SWERVE_MODULE} otherwise, and slow the CANcoders
+   * down to the signals YAGSL reads. YAGSL creates the devices from the JSON configuration, so they
+   * are reached through the modules and only configured if they are the expected types.
+   */
+  private void applyStatusFrameProfiles() {
+    StatusFrameProfile motorProfile =
+        DrivebaseConstants.HIGH_FREQUENCY_ODOMETRY
+            ? StatusFrameProfile.SWERVE_ODOMETRY
+            : StatusFrameProfile.SWERVE_MODULE;
+    for (SwerveModule module : swerveDrive.getModules()) {
+      String name = "SwerveModule" + module.moduleNumber;
+      if (module.getDriveMotor().getMotor() instanceof CANSparkMax drive) {
+        motorProfile.apply(name + "Drive", drive);
+      }
+      if (module.getAngleMotor().getMotor() instanceof CANSparkMax angle) {
+        motorProfile.apply(name + "Angle", angle);
+      }
+      if (module.getAbsoluteEncoder().getAbsoluteEncoder() instanceof CANcoder encoder) {
+        StatusFrameProfile.applyCANcoder(name + "Encoder", encoder);
+      }
+    }
+  }
+
+  /** Apply this loop's odometry samples from the inputs to the pose estimator, oldest first. */
+  private void applyOdometrySamples() {
+    int moduleCount = Math.min(odometryPositions.length, DrivebaseConstants.MODULE_COUNT);
+    int samples = Math.min(inputs.odometrySampleCount, inputs.odometryTimestamps.length);
+    swerveDrive.odometryLock.lock();
+    try {
+      for (int sample = 0; sample < samples; sample++) {
+        int offset = sample * DrivebaseConstants.MODULE_COUNT;
+        for (int i = 0; i < moduleCount; i++) {
+          odometryPositions[i].distanceMeters = inputs.odometryDistancesMeters[offset + i];
+          // Modules mostly hold their angle, so only allocate a rotation when it changed
+          double angleRad = inputs.odometryAnglesRad[offset + i];
+          if (odometryPositions[i].angle.getRadians() != angleRad) {
+            odometryPositions[i].angle = new Rotation2d(angleRad);
+          }
+        }
+        swerveDrive.swerveDrivePoseEstimator.updateWithTime(
+            inputs.odometryTimestamps[sample],
+            new Rotation2d(inputs.odometryYawsRad[sample]),
+            odometryPositions);
+      }
+    } finally {
+      swerveDrive.odometryLock.unlock();
+    }
+  }
+
+  /**
+   * Everything YAGSL's {@code updateOdometry()} does besides feeding the pose estimator, for when
+   * its odometry loop is stopped. The module telemetry and the field pose are published at the
+   * current {@link SwerveDriveTelemetry#verbosity}, and while the robot is stopped the angle motor
+   * encoders are resynchronized to the absolute encoders every few loops, as YAGSL does.
+   */
+  private void updateModules() {
+    SwerveModule[] modules = swerveDrive.getModules();
+    int moduleCount = Math.min(modules.length, DrivebaseConstants.MODULE_COUNT);
+    boolean high = SwerveDriveTelemetry.verbosity == TelemetryVerbosity.HIGH;
+    double speedSum = 0;
+    for (int i = 0; i < moduleCount; i++) {
+      double speed = inputs.moduleVelocitiesMetersPerSec[i];
+      speedSum += Math.abs(speed);
+      if (high) {
+        int number = modules[i].moduleNumber;
+        modules[i].updateTelemetry();
+        SwerveDriveTelemetry.measuredStates[number * 2] =
+            Units.radiansToDegrees(inputs.moduleAnglesRad[i]);
+        SwerveDriveTelemetry.measuredStates[number * 2 + 1] = speed;
+      }
+    }
+    if (speedSum <= DrivebaseConstants.ENCODER_SYNC_SPEED
+        && ++encoderSyncCounter > DrivebaseConstants.ENCODER_SYNC_CYCLES) {
+      swerveDrive.synchronizeModuleEncoders();
+      encoderSyncCounter = 0;
+    }
+
+    if (SwerveDriveTelemetry.verbosity.ordinal() >= TelemetryVerbosity.LOW.ordinal()) {
+      swerveDrive.field.setRobotPose(getPose());
+    }
+    if (high) {
+      SwerveDriveTelemetry.robotRotation = getHeading().getDegrees();
+      SwerveDriveTelemetry.updateData();
+    }
+  }
+
   /**
    * Construct the swerve drive.
    *
@@ -89,6 +230,9 @@ public class SwerveSubsystem extends SubsystemBase {
   public SwerveSubsystem(
       SwerveDriveConfiguration driveCfg, SwerveControllerConfiguration controllerCfg) {
     swerveDrive = new SwerveDrive(driveCfg, controllerCfg, maximumSpeed);
+    io = new SwerveIO() {};
+    feedsPoseEstimator = false;
+    odometryPositions = new SwerveModulePosition[0];
   }
 
   /** Setup AutoBuilder for PathPlanner. */
@@ -127,22 +271,15 @@ public class SwerveSubsystem extends SubsystemBase {
   /**
    * Aim the robot at the target returned by PhotonVision.
    *
-   * @param camera {@link PhotonCamera} to communicate with.
+   * @param camera The {@link VisionCamera} to aim with.
    * @return A {@link Command} which will run the alignment.
    */
-  public Command aimAtTarget(PhotonCamera camera) {
+  public Command aimAtTarget(VisionCamera camera) {
     return run(
         () -> {
-          PhotonPipelineResult result = camera.getLatestResult();
-          if (result.hasTargets()) {
-            drive(
-                getTargetSpeeds(
-                    0,
-                    0,
-                    Rotation2d.fromDegrees(
-                        result
-                            .getBestTarget()
-                            .getYaw()))); // Not sure if this will work, more math may be required.
+          if (camera.hasTargets()) {
+            // Not sure if this will work, more math may be required.
+            drive(getTargetSpeeds(0, 0, Rotation2d.fromDegrees(camera.getBestTargetYaw())));
           }
         });
   }
@@ -325,7 +462,20 @@ public class SwerveSubsystem extends SubsystemBase {
   }
 
   @Override
-  public void periodic() {}
+  public void periodic() {
+    periodicProfile.start();
+    io.updateInputs(inputs);
+    Logger.processInputs("Drive", inputs);
+    if (feedsPoseEstimator) {
+      applyOdometrySamples();
+      updateModules();
+    }
+    ChassisSpeeds speeds = getRobotVelocity();
+    Logger.recordOutput(
+        "Drive/SpeedMetersPerSecond",
+        Math.hypot(speeds.vxMetersPerSecond, speeds.vyMetersPerSecond));
+    periodicProfile.stop();
+  }
 
   @Override
   public void simulationPeriodic() {}
@@ -381,7 +531,7 @@ public class SwerveSubsystem extends SubsystemBase {
    * Resets the gyro angle to zero and resets odometry to the same position, but facing toward 0.
    */
   public void zeroGyro() {
-    System.out.println("[SWERVE] Zeroing Gyro");
+    RobotLog.info(Tag.SWERVE, "Zeroing Gyro");
     swerveDrive.zeroGyro();
   }
 
@@ -477,7 +627,7 @@ public class SwerveSubsystem extends SubsystemBase {
 
   /** Lock the swerve drive to prevent it from moving. */
   public void lock() {
-    System.out.println("[SWERVE] Locking movement");
+    RobotLog.info(Tag.SWERVE, "Locking movement");
     swerveDrive.lockPose();
   }
 
@@ -490,6 +640,17 @@ public class SwerveSubsystem extends SubsystemBase {
     return swerveDrive.getPitch();
   }
 
+  /**
+   * Add a vision measurement to the pose estimator.
+   *
+   * @param pose The field-relative robot pose measured by vision.
+   * @param timestamp FPGA time the measurement was captured at, in seconds.
+   * @param stdDevs Standard deviations of the measurement in x, y (meters) and heading (radians).
+   */
+  public void addVisionMeasurement(Pose2d pose, double timestamp, Matrix<N3, N1> stdDevs) {
+    swerveDrive.addVisionMeasurement(pose, timestamp, stdDevs);
+  }
+
   /** Add a fake vision reading for testing purposes. */
   public void addFakeVisionReading() {
     swerveDrive.addVisionMeasurement(
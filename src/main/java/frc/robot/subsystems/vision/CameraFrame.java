@@ -0,0 +1,149 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.geometry.Transform3d;
+import frc.robot.Constants.VisionConstants;
+import java.util.List;
+import java.util.Optional;
+import org.photonvision.common.dataflow.structures.Packet;
+import org.photonvision.targeting.MultiTargetPNPResult;
+import org.photonvision.targeting.PhotonPipelineResult;
+import org.photonvision.targeting.PhotonTrackedTarget;
+
+/**
+ * One camera frame, decoded on the camera's worker thread and reduced to what the robot uses.
+ *
+ * @param timestamp FPGA time the frame was captured at, in seconds.
+ * @param latencyMs Pipeline latency reported by the camera, in milliseconds.
+ * @param targetCount Number of targets in the frame.
+ * @param bestTargetYaw Yaw to the best target in degrees, 0 without targets.
+ * @param pose Robot pose estimated from the frame's AprilTags, or null if there is none.
+ * @param tagIds IDs of the tags the pose was estimated from.
+ * @param ambiguity Highest pose ambiguity of those tags.
+ */
+public record CameraFrame(
+    double timestamp,
+    double latencyMs,
+    int targetCount,
+    double bestTargetYaw,
+    Pose3d pose,
+    int[] tagIds,
+    double ambiguity) {
+  private static final int[] NO_TAGS = {};
+  private static final Pose3d NO_POSE = new Pose3d();
+
+  /**
+   * Decode a serialized pipeline result.
+   *
+   * @param data The result as published by PhotonVision.
+   * @param receiveTimestamp FPGA time the result arrived, in seconds.
+   * @param robotToCamera Where the camera is mounted on the robot.
+   * @param fieldLayout The AprilTag layout of the field.
+   * @return The decoded frame.
+   */
+  public static CameraFrame decode(
+      byte[] data,
+      double receiveTimestamp,
+      Transform3d robotToCamera,
+      AprilTagFieldLayout fieldLayout) {
+    return fromResult(
+        PhotonPipelineResult.serde.unpack(new Packet(data)),
+        receiveTimestamp,
+        robotToCamera,
+        fieldLayout);
+  }
+
+  /**
+   * Reduce a pipeline result to a frame and estimate the robot pose from its AprilTags.
+   *
+   * <p>A multi-tag result uses the pose PhotonVision solved on the coprocessor. Otherwise the least
+   * ambiguous known tag's best solution is used, which {@link CameraPoseFusion} only accepts when
+   * it is unambiguous and agrees with odometry.
+   *
+   * @param result The decoded result.
+   * @param receiveTimestamp FPGA time the result arrived, in seconds.
+   * @param robotToCamera Where the camera is mounted on the robot.
+   * @param fieldLayout The AprilTag layout of the field.
+   * @return The frame.
+   */
+  public static CameraFrame fromResult(
+      PhotonPipelineResult result,
+      double receiveTimestamp,
+      Transform3d robotToCamera,
+      AprilTagFieldLayout fieldLayout) {
+    double latencyMs = result.getLatencyMillis();
+    List<PhotonTrackedTarget> targets = result.getTargets();
+    double bestTargetYaw = result.hasTargets() ? result.getBestTarget().getYaw() : 0;
+
+    Pose3d pose = null;
+    int[] tagIds = NO_TAGS;
+    double ambiguity = 0;
+    MultiTargetPNPResult multiTag = result.getMultiTagResult();
+    if (multiTag.estimatedPose.isPresent) {
+      pose = new Pose3d().plus(multiTag.estimatedPose.best).plus(robotToCamera.inverse());
+      tagIds = new int[multiTag.fiducialIDsUsed.size()];
+      for (int i = 0; i < tagIds.length; i++) {
+        tagIds[i] = multiTag.fiducialIDsUsed.get(i);
+      }
+      for (PhotonTrackedTarget target : targets) {
+        if (multiTag.fiducialIDsUsed.contains(target.getFiducialId())) {
+          ambiguity = Math.max(ambiguity, target.getPoseAmbiguity());
+        }
+      }
+    } else {
+      PhotonTrackedTarget best = null;
+      Pose3d bestTagPose = null;
+      for (PhotonTrackedTarget target : targets) {
+        // Ambiguity is -1 when the pipeline did not solve the tag's pose
+        Optional<Pose3d> tagPose = fieldLayout.getTagPose(target.getFiducialId());
+        if (target.getPoseAmbiguity() < 0 || tagPose.isEmpty()) {
+          continue;
+        }
+        if (best == null || target.getPoseAmbiguity() < best.getPoseAmbiguity()) {
+          best = target;
+          bestTagPose = tagPose.get();
+        }
+      }
+      if (best != null) {
+        pose =
+            bestTagPose
+                .transformBy(best.getBestCameraToTarget().inverse())
+                .transformBy(robotToCamera.inverse());
+        tagIds = new int[] {best.getFiducialId()};
+        ambiguity = best.getPoseAmbiguity();
+      }
+    }
+    return new CameraFrame(
+        receiveTimestamp - latencyMs / 1e3,
+        latencyMs,
+        targets.size(),
+        bestTargetYaw,
+        pose,
+        tagIds,
+        ambiguity);
+  }
+
+  /**
+   * Copy the frame into the camera inputs without allocating.
+   *
+   * @param inputs The inputs to fill.
+   * @param index Which of the inputs' frames to write.
+   */
+  public void copyTo(CameraIO.CameraIOInputs inputs, int index) {
+    int tagCount = pose == null ? 0 : Math.min(tagIds.length, VisionConstants.MAX_TAGS_PER_FRAME);
+    inputs.timestamps[index] = timestamp;
+    inputs.latenciesMs[index] = latencyMs;
+    inputs.targetCounts[index] = targetCount;
+    inputs.bestTargetYaws[index] = bestTargetYaw;
+    inputs.poses[index] = pose == null ? NO_POSE : pose;
+    inputs.tagCounts[index] = tagCount;
+    inputs.ambiguities[index] = ambiguity;
+    System.arraycopy(
+        tagIds, 0, inputs.tagIds, index * VisionConstants.MAX_TAGS_PER_FRAME, tagCount);
+  }
+}
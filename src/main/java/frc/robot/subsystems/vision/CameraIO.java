@@ -0,0 +1,52 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.math.geometry.Pose3d;
+import frc.robot.Constants.VisionConstants;
+import java.util.Arrays;
+import org.littletonrobotics.junction.AutoLog;
+
+/**
+ * Interface to one PhotonVision camera.
+ *
+ * <p>Inputs are the frames that arrived since the last loop, already decoded into what the robot
+ * uses from them: capture time, latency, the best target and the AprilTag pose estimate. A replayed
+ * log therefore fuses exactly the observations the robot did. The default implementation supplies
+ * no frames, which is what log replay uses.
+ */
+public interface CameraIO {
+  /**
+   * Frames received from the camera since the last loop. The arrays hold up to {@link
+   * VisionConstants#FRAME_QUEUE_SIZE} frames and are reused, only the first {@code frameCount}
+   * entries are this loop's.
+   */
+  @AutoLog
+  public static class CameraIOInputs {
+    public boolean connected = false;
+    public long droppedFrames = 0;
+    public long decodeFailures = 0; // frames dropped because they could not be decoded
+    public int queueDepth = 0; // frames waiting when the loop drained them
+    public int frameCount = 0;
+    public double[] timestamps = new double[VisionConstants.FRAME_QUEUE_SIZE]; // capture, s
+    public double[] latenciesMs = new double[VisionConstants.FRAME_QUEUE_SIZE];
+    public int[] targetCounts = new int[VisionConstants.FRAME_QUEUE_SIZE];
+    public double[] bestTargetYaws = new double[VisionConstants.FRAME_QUEUE_SIZE]; // degrees
+    // Pose estimate per frame, from the tags listed for it in tagIds, none if tagCounts is 0
+    public Pose3d[] poses = new Pose3d[VisionConstants.FRAME_QUEUE_SIZE];
+    public int[] tagCounts = new int[VisionConstants.FRAME_QUEUE_SIZE];
+    public double[] ambiguities = new double[VisionConstants.FRAME_QUEUE_SIZE];
+    // Frame i's tags start at i * MAX_TAGS_PER_FRAME
+    public int[] tagIds =
+        new int[VisionConstants.FRAME_QUEUE_SIZE * VisionConstants.MAX_TAGS_PER_FRAME];
+
+    {
+      Arrays.fill(poses, new Pose3d());
+    }
+  }
+
+  /** Updates the set of loggable inputs. */
+  public default void updateInputs(CameraIOInputs inputs) {}
+}
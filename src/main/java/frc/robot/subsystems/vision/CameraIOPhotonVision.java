@@ -0,0 +1,116 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Transform3d;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.RawSubscriber;
+import edu.wpi.first.networktables.TimestampedRaw;
+import edu.wpi.first.wpilibj.Notifier;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import frc.robot.util.ThreadPriorities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains and decodes every pipeline result a PhotonVision camera publishes on a background worker.
+ *
+ * <p>{@code PhotonCamera.getLatestResult()} deserializes the newest result each time it is called
+ * and silently skips any frame that arrived between calls. This subscribes to the camera's raw
+ * result topic with a queue instead, so the worker sees every frame exactly once, decodes it into a
+ * {@link CameraFrame} and pushes that into a bounded queue. When the queue is full the oldest frame
+ * is dropped. {@link #updateInputs(CameraIOInputs)} takes everything queued without blocking and
+ * copies it into the reused input arrays, so the main loop neither decodes nor allocates.
+ *
+ * <p>A frame that fails to decode, for example from a PhotonVision version with a different
+ * serialization, is counted, logged and dropped without stopping the worker.
+ */
+public class CameraIOPhotonVision implements CameraIO {
+  private final String cameraName;
+  private final Transform3d robotToCamera;
+  private final AprilTagFieldLayout fieldLayout;
+  private final RawSubscriber subscriber;
+  private final Notifier worker;
+  private boolean priorityConfigured = false;
+  private final ArrayBlockingQueue<CameraFrame> queue =
+      new ArrayBlockingQueue<>(VisionConstants.FRAME_QUEUE_SIZE);
+  private final List<CameraFrame> drained = new ArrayList<>(VisionConstants.FRAME_QUEUE_SIZE);
+  private final AtomicLong droppedFrames = new AtomicLong();
+  private final AtomicLong decodeFailures = new AtomicLong();
+
+  /**
+   * Creates the IO for a camera and starts its worker.
+   *
+   * @param cameraName The PhotonVision camera name, as used for {@code PhotonCamera}.
+   * @param robotToCamera Where the camera is mounted on the robot, for the pose estimate.
+   */
+  public CameraIOPhotonVision(String cameraName, Transform3d robotToCamera) {
+    this.cameraName = cameraName;
+    this.robotToCamera = robotToCamera;
+    fieldLayout = AprilTagFields.k2024Crescendo.loadAprilTagLayoutField();
+    subscriber =
+        NetworkTableInstance.getDefault()
+            .getTable("photonvision")
+            .getSubTable(cameraName)
+            .getRawTopic("rawBytes")
+            .subscribe(
+                "rawBytes",
+                new byte[] {},
+                PubSubOption.sendAll(true),
+                PubSubOption.pollStorage(VisionConstants.FRAME_QUEUE_SIZE));
+
+    worker = new Notifier(this::ingest);
+    worker.setName("VisionIngest-" + cameraName);
+    worker.startPeriodic(VisionConstants.INGEST_PERIOD);
+  }
+
+  /** Runs on the worker thread. */
+  private void ingest() {
+    if (!priorityConfigured) {
+      ThreadPriorities.configureBackgroundThread();
+      priorityConfigured = true;
+    }
+    for (TimestampedRaw raw : subscriber.readQueue()) {
+      if (raw.value.length == 0) {
+        continue;
+      }
+      CameraFrame frame;
+      try {
+        frame = CameraFrame.decode(raw.value, raw.timestamp / 1e6, robotToCamera, fieldLayout);
+      } catch (RuntimeException e) {
+        decodeFailures.incrementAndGet();
+        RobotLog.warn(
+            Tag.VISION, "Dropped a frame from " + cameraName + " that failed to decode: " + e);
+        continue;
+      }
+      while (!queue.offer(frame)) {
+        if (queue.poll() != null) {
+          droppedFrames.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  @Override
+  public void updateInputs(CameraIOInputs inputs) {
+    drained.clear();
+    inputs.queueDepth = queue.size();
+    queue.drainTo(drained, inputs.timestamps.length);
+    for (int i = 0; i < drained.size(); i++) {
+      drained.get(i).copyTo(inputs, i);
+    }
+    inputs.frameCount = drained.size();
+    inputs.connected = subscriber.exists();
+    inputs.droppedFrames = droppedFrames.get();
+    inputs.decodeFailures = decodeFailures.get();
+  }
+}
@@ -0,0 +1,182 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Pose3d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import frc.robot.Constants.VisionConstants;
+import frc.robot.Constants.VisionConstants.Fusion;
+import java.util.Optional;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Turns one camera's pose estimates into vision measurements for the swerve pose estimator.
+ *
+ * <p>The estimates come from the camera inputs, solved on the camera's worker by {@link
+ * CameraFrame}. Estimates that are off the field, too far from the tags, too ambiguous, or (for
+ * single tags) too far from the current odometry are rejected. Accepted estimates get standard
+ * deviations that grow with distance and ambiguity and shrink with the number of tags seen.
+ */
+public class CameraPoseFusion {
+  private final AprilTagFieldLayout fieldLayout;
+
+  private final String acceptedKey;
+  private final String rejectedKey;
+  private final String processingKey;
+  private final String poseKey;
+
+  private long accepted = 0;
+  private long rejected = 0;
+  private double processingMs = 0;
+
+  /** Receives accepted vision measurements. */
+  @FunctionalInterface
+  public interface MeasurementConsumer {
+    /**
+     * Add a vision measurement to the pose estimator.
+     *
+     * @param pose The field-relative robot pose measured by the camera.
+     * @param timestamp FPGA time the frame was captured at, in seconds.
+     * @param stdDevs Standard deviations of the measurement in x, y (meters) and heading (radians).
+     */
+    void accept(Pose2d pose, double timestamp, Matrix<N3, N1> stdDevs);
+  }
+
+  /**
+   * Creates the fusion stage for one camera.
+   *
+   * @param cameraName The camera name, used for logging.
+   * @param fieldLayout The AprilTag layout of the field.
+   */
+  public CameraPoseFusion(String cameraName, AprilTagFieldLayout fieldLayout) {
+    this.fieldLayout = fieldLayout;
+    acceptedKey = "Vision/" + cameraName + "/Fusion/Accepted";
+    rejectedKey = "Vision/" + cameraName + "/Fusion/Rejected";
+    processingKey = "Vision/" + cameraName + "/Fusion/ProcessingMs";
+    poseKey = "Vision/" + cameraName + "/Fusion/EstimatedPose";
+  }
+
+  /**
+   * Hand a frame's pose estimate to the consumer if it passes the checks.
+   *
+   * @param inputs The camera inputs.
+   * @param frame Which of the inputs' frames to process.
+   * @param odometryPose The current odometry pose, used for outlier checks.
+   * @param consumer Receives the measurement if it is accepted.
+   * @return Whether the measurement was accepted.
+   */
+  public boolean process(
+      CameraIO.CameraIOInputs inputs,
+      int frame,
+      Pose2d odometryPose,
+      MeasurementConsumer consumer) {
+    int tagCount = inputs.tagCounts[frame];
+    if (tagCount == 0) {
+      return false;
+    }
+    long start = System.nanoTime();
+    Pose2d pose = inputs.poses[frame].toPose2d();
+    Matrix<N3, N1> stdDevs =
+        getStdDevs(
+            pose,
+            inputs.tagIds,
+            frame * VisionConstants.MAX_TAGS_PER_FRAME,
+            tagCount,
+            inputs.ambiguities[frame],
+            odometryPose);
+    boolean wasAccepted = false;
+    if (stdDevs != null) {
+      consumer.accept(pose, inputs.timestamps[frame], stdDevs);
+      Logger.recordOutput(poseKey, pose);
+      wasAccepted = true;
+    }
+    if (wasAccepted) {
+      accepted++;
+    } else {
+      rejected++;
+    }
+    processingMs = (System.nanoTime() - start) / 1e6;
+    return wasAccepted;
+  }
+
+  /**
+   * Compute the standard deviations for an estimate.
+   *
+   * @param tagIds Tag IDs of every frame, the estimate's start at {@code tagOffset}.
+   * @return The standard deviations, or null if the estimate should be rejected.
+   */
+  private Matrix<N3, N1> getStdDevs(
+      Pose2d pose,
+      int[] tagIds,
+      int tagOffset,
+      int tagIdCount,
+      double ambiguity,
+      Pose2d odometryPose) {
+    if (pose.getX() < 0
+        || pose.getY() < 0
+        || pose.getX() > fieldLayout.getFieldLength()
+        || pose.getY() > fieldLayout.getFieldWidth()) {
+      return null;
+    }
+
+    int tagCount = 0;
+    double totalDistance = 0;
+    for (int i = tagOffset; i < tagOffset + tagIdCount; i++) {
+      Optional<Pose3d> tagPose = fieldLayout.getTagPose(tagIds[i]);
+      if (tagPose.isEmpty()) {
+        continue;
+      }
+      tagCount++;
+      totalDistance +=
+          tagPose.get().toPose2d().getTranslation().getDistance(pose.getTranslation());
+    }
+    if (tagCount == 0) {
+      return null;
+    }
+    double averageDistance = totalDistance / tagCount;
+    if (averageDistance > Fusion.MAX_TAG_DISTANCE) {
+      return null;
+    }
+
+    // A single tag can flip to the wrong solution, so it has to be unambiguous and agree with
+    // odometry. Multiple tags are trusted to pull odometry back when it has drifted.
+    if (tagCount == 1) {
+      if (ambiguity > Fusion.MAX_AMBIGUITY) {
+        return null;
+      }
+      if (pose.getTranslation().getDistance(odometryPose.getTranslation())
+          > Fusion.MAX_ODOMETRY_ERROR) {
+        return null;
+      }
+    }
+
+    double scale =
+        (1 + averageDistance * averageDistance / Fusion.DISTANCE_SCALE)
+            * (1 + ambiguity * Fusion.AMBIGUITY_SCALE)
+            / tagCount;
+    if (tagCount == 1) {
+      return VecBuilder.fill(
+          Fusion.SINGLE_TAG_XY_STD_DEV * scale,
+          Fusion.SINGLE_TAG_XY_STD_DEV * scale,
+          Fusion.SINGLE_TAG_THETA_STD_DEV);
+    }
+    return VecBuilder.fill(
+        Fusion.MULTI_TAG_XY_STD_DEV * scale,
+        Fusion.MULTI_TAG_XY_STD_DEV * scale,
+        Fusion.MULTI_TAG_THETA_STD_DEV * scale);
+  }
+
+  /** Log accepted and rejected counts and processing time. Call from the main loop. */
+  public void logMetrics() {
+    Logger.recordOutput(acceptedKey, accepted);
+    Logger.recordOutput(rejectedKey, rejected);
+    Logger.recordOutput(processingKey, processingMs);
+  }
+}
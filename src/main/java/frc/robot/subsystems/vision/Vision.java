@@ -0,0 +1,146 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.Constants.AlertContants;
+import frc.robot.Constants.SchedulerConstants;
+import frc.robot.Constants.VisionConstants.ConveyorCamera;
+import frc.robot.Constants.VisionConstants.IntakeCamera;
+import frc.robot.Constants.VisionConstants.Limelight;
+import frc.robot.util.Alert;
+import frc.robot.util.Alert.AlertType;
+import frc.robot.util.LoopProfiler;
+import frc.robot.util.PeriodicScheduler;
+import frc.robot.util.RobotLog;
+import frc.robot.util.RobotLog.Tag;
+import java.util.function.Supplier;
+import org.littletonrobotics.junction.Logger;
+
+public class Vision extends SubsystemBase {
+  private final LoopProfiler.Section periodicProfile =
+      LoopProfiler.getInstance().section(getName() + ".periodic()");
+  private final AprilTagFieldLayout aprilTagFieldLayout;
+  private final VisionCamera limelight;
+  private final VisionCamera intakeCamera;
+  private final VisionCamera conveyorCamera;
+  private final Supplier<Pose2d> poseSupplier;
+  private final CameraPoseFusion.MeasurementConsumer measurementConsumer;
+
+  private final Alert latencyAlert =
+      new Alert("PhotonVision latency is too high, results may be inaccurate.", AlertType.WARNING);
+
+  /**
+   * Creates a new Vision subsystem, powered by PhotonVision.
+   *
+   * <p>PhotonVision is a vision processing library that provides a simple API for interacting with
+   * a variety of vision targets, including reflective tape, vision targets, and AprilTags.
+   *
+   * <p>Each camera is read through a {@link CameraIO}. On the robot that is a {@link
+   * CameraIOPhotonVision}, which drains and decodes every frame on a background worker, including
+   * the AprilTag pose estimate. {@link #periodic()} logs the decoded frames as inputs, so a
+   * replayed log reproduces every measurement.
+   *
+   * <p>Every limelight and intake camera pose estimate that passes the checks in {@link
+   * CameraPoseFusion} is added to the drivebase pose estimator with its capture timestamp.
+   *
+   * @param limelightIO The {@link CameraIO} for the limelight.
+   * @param intakeCameraIO The {@link CameraIO} for the intake camera.
+   * @param conveyorCameraIO The {@link CameraIO} for the conveyor camera.
+   * @param poseSupplier Supplier of the current odometry pose.
+   * @param measurementConsumer Receives accepted vision measurements.
+   */
+  public Vision(
+      CameraIO limelightIO,
+      CameraIO intakeCameraIO,
+      CameraIO conveyorCameraIO,
+      Supplier<Pose2d> poseSupplier,
+      CameraPoseFusion.MeasurementConsumer measurementConsumer) {
+    RobotLog.info(Tag.VISION, "Vision subsystem initialized.");
+    this.poseSupplier = poseSupplier;
+    this.measurementConsumer = measurementConsumer;
+
+    aprilTagFieldLayout = AprilTagFields.k2024Crescendo.loadAprilTagLayoutField();
+
+    // Pose estimates are solved on each camera's worker with the camera transforms in the
+    // VisionConstants, multi-tag results on the coprocessor
+    limelight =
+        new VisionCamera(
+            Limelight.NAME,
+            limelightIO,
+            new CameraPoseFusion(Limelight.NAME, aprilTagFieldLayout));
+    intakeCamera =
+        new VisionCamera(
+            IntakeCamera.NAME,
+            intakeCameraIO,
+            new CameraPoseFusion(IntakeCamera.NAME, aprilTagFieldLayout));
+    conveyorCamera = new VisionCamera(ConveyorCamera.NAME, conveyorCameraIO, null);
+
+    // Camera frames are drained at camera rate by each CameraIO, the alert only needs a few hertz
+    PeriodicScheduler.getInstance()
+        .addTask(
+            getName() + ".latency",
+            SchedulerConstants.VISION_LATENCY_HZ,
+            SchedulerConstants.VISION_LATENCY_BUDGET_MS,
+            this::checkLatency);
+  }
+
+  /**
+   * Get the limelight, whose latest frame is the one consumed by {@link #periodic()}
+   *
+   * @return the limelight {@link VisionCamera}
+   */
+  public VisionCamera getLimelight() {
+    return limelight;
+  }
+
+  /**
+   * Get the intake camera, whose latest frame is the one consumed by {@link #periodic()}
+   *
+   * @return the intake {@link VisionCamera}
+   */
+  public VisionCamera getIntakeCamera() {
+    return intakeCamera;
+  }
+
+  /**
+   * Get the conveyor camera, whose latest frame is the one consumed by {@link #periodic()}
+   *
+   * @return the conveyor {@link VisionCamera}
+   */
+  public VisionCamera getConveyorCamera() {
+    return conveyorCamera;
+  }
+
+  @Override
+  public void periodic() {
+    periodicProfile.start();
+    // This method will be called once per scheduler run
+    Pose2d odometryPose = poseSupplier.get();
+    int fusedThisCycle = 0;
+    fusedThisCycle += limelight.periodic(odometryPose, measurementConsumer);
+    fusedThisCycle += intakeCamera.periodic(odometryPose, measurementConsumer);
+    fusedThisCycle += conveyorCamera.periodic(odometryPose, measurementConsumer);
+    Logger.recordOutput("Vision/Fusion/MeasurementsThisCycle", fusedThisCycle);
+    periodicProfile.stop();
+  }
+
+  /** Warn when any camera's latency is too high. Runs at a few hertz from the scheduler. */
+  private void checkLatency() {
+    double limelightLatency = limelight.getLatencyMillis() / 1000.0;
+    double intakeCameraLatency = intakeCamera.getLatencyMillis() / 1000.0;
+    double conveyorCameraLatency = conveyorCamera.getLatencyMillis() / 1000.0;
+    if (limelightLatency > AlertContants.PHOTON_LATENCY
+        || intakeCameraLatency > AlertContants.PHOTON_LATENCY
+        || conveyorCameraLatency > AlertContants.PHOTON_LATENCY) {
+      latencyAlert.set(true);
+    } else {
+      latencyAlert.set(false);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.vision;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import frc.robot.util.FlightEvents;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * One camera as seen by the {@link Vision} subsystem: its {@link CameraIO}, the logged inputs, and
+ * the optional {@link CameraPoseFusion} stage.
+ *
+ * <p>Each loop the new frames are read from the inputs, already decoded and stamped with their
+ * capture time by the camera's worker, and, if the camera has a fusion stage, turned into vision
+ * measurements. Because fusion starts from the logged observations, replay produces the same
+ * measurements the robot saw.
+ */
+public class VisionCamera {
+  private final String name;
+  private final CameraIO io;
+  private final CameraIOInputsAutoLogged inputs = new CameraIOInputsAutoLogged();
+  private final CameraPoseFusion fusion;
+
+  private final String inputsKey;
+  private final String frameRateKey;
+  private final String framesKey;
+  private final String droppedKey;
+  private final String processingKey;
+
+  private int latestTargetCount = 0;
+  private double latestTargetYaw = 0;
+  private double latestLatencyMs = 0;
+  private long receivedFrames = 0;
+  private long processingNanos = 0;
+  private long framesAtLastReport = 0;
+  private long processingAtLastReport = 0;
+  private double lastReportTime = 0;
+  private double frameRate = 0;
+  private double processingMs = 0;
+
+  /**
+   * Creates a camera.
+   *
+   * @param name The PhotonVision camera name, used for logging.
+   * @param io The {@link CameraIO} implementation to read, real or replayed.
+   * @param fusion The camera's {@link CameraPoseFusion}, or null if it does not see AprilTags.
+   */
+  public VisionCamera(String name, CameraIO io, CameraPoseFusion fusion) {
+    this.name = name;
+    this.io = io;
+    this.fusion = fusion;
+    inputsKey = "Vision/" + name;
+    frameRateKey = "Vision/" + name + "/FrameRate";
+    framesKey = "Vision/" + name + "/FramesThisCycle";
+    droppedKey = "Vision/" + name + "/DroppedFrames";
+    processingKey = "Vision/" + name + "/ProcessingMs";
+  }
+
+  /**
+   * Read and fuse every frame received since the last loop.
+   *
+   * @param odometryPose The current odometry pose.
+   * @param consumer Receives accepted vision measurements.
+   * @return The number of measurements accepted this loop.
+   */
+  public int periodic(Pose2d odometryPose, CameraPoseFusion.MeasurementConsumer consumer) {
+    io.updateInputs(inputs);
+    Logger.processInputs(inputsKey, inputs);
+
+    int frames = Math.min(inputs.frameCount, inputs.timestamps.length);
+    int fused = 0;
+    for (int i = 0; i < frames; i++) {
+      long start = System.nanoTime();
+      boolean accepted = fusion != null && fusion.process(inputs, i, odometryPose, consumer);
+      processingNanos += System.nanoTime() - start;
+      receivedFrames++;
+      if (accepted) {
+        fused++;
+      }
+      FlightEvents.visionFrame(name, inputs.latenciesMs[i], inputs.targetCounts[i], accepted);
+    }
+    if (frames > 0) {
+      latestTargetCount = inputs.targetCounts[frames - 1];
+      latestTargetYaw = inputs.bestTargetYaws[frames - 1];
+      latestLatencyMs = inputs.latenciesMs[frames - 1];
+    }
+    logMetrics();
+    return fused;
+  }
+
+  /**
+   * Whether the newest frame has any targets.
+   *
+   * @return true if the latest frame saw a target
+   */
+  public boolean hasTargets() {
+    return latestTargetCount > 0;
+  }
+
+  /**
+   * Get the yaw to the best target in the newest frame.
+   *
+   * @return the yaw in degrees, 0 if the latest frame has no targets
+   */
+  public double getBestTargetYaw() {
+    return latestTargetYaw;
+  }
+
+  /**
+   * Get the pipeline latency of the newest frame.
+   *
+   * @return the latency in milliseconds
+   */
+  public double getLatencyMillis() {
+    return latestLatencyMs;
+  }
+
+  /**
+   * Get the camera name.
+   *
+   * @return the PhotonVision camera name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Whether the camera is publishing results.
+   *
+   * @return true if the camera's result topic exists
+   */
+  public boolean isConnected() {
+    return inputs.connected;
+  }
+
+  private void logMetrics() {
+    double now = Logger.getTimestamp() / 1e6;
+    if (now - lastReportTime >= 1.0) {
+      long newFrames = receivedFrames - framesAtLastReport;
+      frameRate = newFrames / (now - lastReportTime);
+      processingMs =
+          newFrames > 0 ? (processingNanos - processingAtLastReport) / 1e6 / newFrames : 0;
+      framesAtLastReport = receivedFrames;
+      processingAtLastReport = processingNanos;
+      lastReportTime = now;
+    }
+    Logger.recordOutput(frameRateKey, frameRate);
+    Logger.recordOutput(framesKey, inputs.frameCount);
+    Logger.recordOutput(droppedKey, inputs.droppedFrames);
+    Logger.recordOutput(processingKey, processingMs);
+    if (fusion != null) {
+      fusion.logMetrics();
+    }
+  }
+}
@@ -9,21 +9,42 @@ import edu.wpi.first.util.sendable.SendableBuilder;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.Constants.AlertContants;
+import frc.robot.util.RobotLog.Tag;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 
-/** Class for managing persistent alerts to be sent over NetworkTables. */
+/**
+ * Class for managing persistent alerts to be sent over NetworkTables.
+ *
+ * <p>Each group keeps one list of active alerts per {@link AlertType}, newest first, along with a
+ * cached copy of their text. Both are only touched when an alert changes state, so publishing an
+ * unchanged group to NetworkTables hands back the same arrays without allocating.
+ *
+ * <p>Console reports are de-duplicated: an alert reactivating with the same text within {@link
+ * AlertContants#REPORT_INTERVAL} is counted instead of reported again. Past activations are kept in
+ * a bounded history ring.
+ */
 public class Alert {
   private static Map<String, SendableAlerts> groups = new HashMap<String, SendableAlerts>();
 
+  // Bounded ring of past activations, written only when an alert deactivates
+  private static final String[] historyText = new String[AlertContants.HISTORY_SIZE];
+  private static final double[] historyStart = new double[AlertContants.HISTORY_SIZE];
+  private static final double[] historyEnd = new double[AlertContants.HISTORY_SIZE];
+  private static int historyNext = 0;
+  private static int historySize = 0;
+
   private final AlertType type;
+  private final SendableAlerts group;
   private boolean active = false;
   private double activeStartTime = 0.0;
+  private int activationCount = 0;
   private String text;
+  private double lastReportTime = Double.NEGATIVE_INFINITY;
+  private int suppressedReports = 0;
 
   /**
    * Creates a new Alert in the default group - "Alerts". If this is the first to be instantiated,
@@ -52,48 +73,155 @@ public class Alert {
 
     this.text = text;
     this.type = type;
-    groups.get(group).alerts.add(this);
+    this.group = groups.get(group);
   }
 
   /**
    * Sets whether the alert should currently be displayed. When activated, the alert text will also
    * be sent to the console.
+   *
+   * <p>Calling this with an unchanged state does nothing, so it is safe to call every loop.
    */
   public void set(boolean active) {
-    if (active && !this.active) {
-      activeStartTime = Timer.getFPGATimestamp();
-      switch (type) {
-        case ERROR:
-          DriverStation.reportError(text, false);
-          break;
-        case WARNING:
-          DriverStation.reportWarning(text, false);
-          break;
-        case INFO:
-          System.out.println(text);
-          break;
-      }
+    if (active == this.active) {
+      return;
+    }
+    double now = Timer.getFPGATimestamp();
+    if (active) {
+      activeStartTime = now;
+      activationCount++;
+      report(now);
+      group.activate(this);
+    } else {
+      group.deactivate(this);
+      recordHistory(text, activeStartTime, now);
     }
     this.active = active;
   }
 
   /** Updates current alert text. */
   public void setText(String text) {
+    if (!text.equals(this.text)) {
+      if (active) {
+        group.invalidate(type);
+      }
+      // New text is reported on the next activation even if the old text was reported recently
+      lastReportTime = Double.NEGATIVE_INFINITY;
+      suppressedReports = 0;
+    }
     this.text = text;
   }
 
-  private static class SendableAlerts implements Sendable {
-    public final List<Alert> alerts = new ArrayList<>();
+  /**
+   * Get how many times this alert has been activated.
+   *
+   * @return The number of activations since the robot started.
+   */
+  public int getActivationCount() {
+    return activationCount;
+  }
+
+  /**
+   * Get past activations of every alert, newest first. Builds a new array, so do not call this
+   * every loop.
+   *
+   * @return One entry per past activation with its start and end time.
+   */
+  public static String[] getHistory() {
+    String[] history = new String[historySize];
+    for (int i = 0; i < historySize; i++) {
+      int slot = Math.floorMod(historyNext - 1 - i, historyText.length);
+      history[i] =
+          String.format("%.2f-%.2f %s", historyStart[slot], historyEnd[slot], historyText[slot]);
+    }
+    return history;
+  }
+
+  private static void recordHistory(String text, double start, double end) {
+    historyText[historyNext] = text;
+    historyStart[historyNext] = start;
+    historyEnd[historyNext] = end;
+    historyNext = (historyNext + 1) % historyText.length;
+    if (historySize < historyText.length) {
+      historySize++;
+    }
+  }
+
+  /** Send the alert to the console, unless it was reported recently with the same text. */
+  private void report(double now) {
+    if (now - lastReportTime < AlertContants.REPORT_INTERVAL) {
+      suppressedReports++;
+      return;
+    }
+    String message = text;
+    if (suppressedReports > 0) {
+      message = text + " (repeated " + suppressedReports + " times)";
+    }
+    lastReportTime = now;
+    suppressedReports = 0;
+
+    switch (type) {
+      case ERROR:
+        DriverStation.reportError(message, false);
+        break;
+      case WARNING:
+        DriverStation.reportWarning(message, false);
+        break;
+      case INFO:
+        RobotLog.info(Tag.ALERT, message);
+        break;
+    }
+  }
+
+  /**
+   * Get the alerts of a group.
+   *
+   * @param group Group identifier.
+   * @return The group's {@link SendableAlerts}, or null if no alert uses the group.
+   */
+  static SendableAlerts getGroup(String group) {
+    return groups.get(group);
+  }
+
+  static class SendableAlerts implements Sendable {
+    private static final String[] EMPTY = new String[0];
+
+    private final List<List<Alert>> active = new ArrayList<>();
+    private final String[][] strings = new String[AlertType.values().length][];
+
+    SendableAlerts() {
+      for (int i = 0; i < strings.length; i++) {
+        active.add(new ArrayList<>());
+        strings[i] = EMPTY;
+      }
+    }
+
+    /** Newly active alerts are the most recent, so they go to the front. */
+    void activate(Alert alert) {
+      active.get(alert.type.ordinal()).add(0, alert);
+      invalidate(alert.type);
+    }
+
+    void deactivate(Alert alert) {
+      active.get(alert.type.ordinal()).remove(alert);
+      invalidate(alert.type);
+    }
+
+    void invalidate(AlertType type) {
+      strings[type.ordinal()] = null;
+    }
 
     public String[] getStrings(AlertType type) {
-      Predicate<Alert> activeFilter = (Alert x) -> x.type == type && x.active;
-      Comparator<Alert> timeSorter =
-          (Alert a1, Alert a2) -> (int) (a2.activeStartTime - a1.activeStartTime);
-      return alerts.stream()
-          .filter(activeFilter)
-          .sorted(timeSorter)
-          .map((Alert a) -> a.text)
-          .toArray(String[]::new);
+      int index = type.ordinal();
+      if (strings[index] == null) {
+        List<Alert> alerts = active.get(index);
+        String[] snapshot = alerts.isEmpty() ? EMPTY : new String[alerts.size()];
+        for (int i = 0; i < snapshot.length; i++) {
+          snapshot[i] = alerts.get(i).text;
+        }
+        strings[index] = snapshot;
+      }
+      return strings[index];
     }
 
     @Override
@@ -0,0 +1,132 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.pathplanner.lib.auto.AutoBuilder;
+import com.pathplanner.lib.commands.PathPlannerAuto;
+import com.pathplanner.lib.path.PathPlannerPath;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.util.RobotLog.Tag;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.littletonrobotics.junction.Logger;
+import org.littletonrobotics.junction.networktables.LoggedDashboardChooser;
+
+/**
+ * Builds every PathPlanner auto once and keeps the selected one warm while disabled.
+ *
+ * <p>Each auto is parsed into a command when the registry is created, and the same instance is
+ * handed back at enable, so nothing is read from disk in the first autonomous loop.
+ *
+ * <p>PathPlanner generates trajectories when a path starts, from the robot's speed at that moment,
+ * so they cannot be generated once and handed over. Instead {@link #updateWarmup()} loads and
+ * generates the selected auto's paths for the current alliance on a background thread, which
+ * loads the classes and compiles the generator before the match. It runs again whenever the
+ * selection or alliance changes.
+ */
+public class AutoRegistry {
+  private final Map<String, Command> autos = new LinkedHashMap<>();
+  private final LoggedDashboardChooser<Command> chooser;
+  private final ExecutorService warmer =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "AutoWarmup");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private Command warmedAuto;
+  private Optional<Alliance> warmedAlliance = Optional.empty();
+  private Future<Double> warmup;
+  private boolean warm = false;
+
+  /**
+   * Creates the registry and a chooser for it on the dashboard.
+   *
+   * @param key Dashboard key for the chooser.
+   * @param defaultName Chooser label for the default command.
+   * @param defaultCommand Command selected when nothing else is, which is not warmed.
+   */
+  public AutoRegistry(String key, String defaultName, Command defaultCommand) {
+    chooser = new LoggedDashboardChooser<>(key);
+    chooser.addDefaultOption(defaultName, defaultCommand);
+    for (String name : AutoBuilder.getAllAutoNames()) {
+      Command auto = new PathPlannerAuto(name);
+      autos.put(name, auto);
+      chooser.addOption(name, auto);
+    }
+    RobotLog.info(Tag.AUTO, "Built " + autos.size() + " autos");
+  }
+
+  /** Start warming the selected auto if the selection or alliance changed. Call while disabled. */
+  public void updateWarmup() {
+    Command selected = chooser.get();
+    Optional<Alliance> alliance = DriverStation.getAlliance();
+    if (selected != warmedAuto || !alliance.equals(warmedAlliance)) {
+      warmedAuto = selected;
+      warmedAlliance = alliance;
+      warm = false;
+      if (warmup != null) {
+        warmup.cancel(false);
+      }
+      String name = selected == null ? null : selected.getName();
+      if (autos.containsKey(name)) {
+        boolean flip = alliance.orElse(Alliance.Blue) == Alliance.Red;
+        warmup = warmer.submit(() -> warm(name, flip));
+      } else {
+        warmup = null;
+        warm = true;
+      }
+    }
+
+    if (!warm && warmup != null && warmup.isDone()) {
+      try {
+        Logger.recordOutput("Auto/WarmupMs", warmup.get());
+        warm = true;
+      } catch (ExecutionException e) {
+        RobotLog.warn(Tag.AUTO, "Failed to warm " + warmedAuto.getName() + ": " + e.getCause());
+        warmup = null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    Logger.recordOutput("Auto/Warm", warm);
+  }
+
+  /**
+   * Load and generate every path in an auto, as PathPlanner will when it runs.
+   *
+   * @param name Auto file name.
+   * @param flip Whether the paths are flipped for the red alliance.
+   * @return Milliseconds taken.
+   */
+  private static double warm(String name, boolean flip) {
+    long start = System.nanoTime();
+    for (PathPlannerPath path : PathPlannerAuto.getPathGroupFromAutoFile(name)) {
+      PathPlannerPath alliancePath = flip ? path.flipPath() : path;
+      alliancePath.getTrajectory(
+          new ChassisSpeeds(), alliancePath.getPreviewStartingHolonomicPose().getRotation());
+    }
+    return (System.nanoTime() - start) / 1e6;
+  }
+
+  /**
+   * Get the selected auto. This is the instance built at startup, so it is ready to schedule.
+   *
+   * @return The selected command, or the default command if nothing is selected.
+   */
+  public Command getSelected() {
+    return chooser.get();
+  }
+}
@@ -0,0 +1,113 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.hal.can.CANStatus;
+import edu.wpi.first.math.filter.Debouncer;
+import edu.wpi.first.math.filter.Debouncer.DebounceType;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants.AlertContants;
+import frc.robot.Constants.HardwareConstants;
+import frc.robot.util.Alert.AlertType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * CAN bus utilization telemetry driven from {@code robotPeriodic()}.
+ *
+ * <p>Logs the bus utilization and error counters reported by the roboRIO under {@code CAN/}, next
+ * to an estimate of the status frames the configured devices should be sending. Devices register
+ * their frame rate when a {@link StatusFrameProfile} is applied, so the estimate can be checked
+ * against {@link HardwareConstants#CAN_FRAME_CAPACITY} before a new device is added to the bus.
+ *
+ * <p>An alert is raised when utilization stays above {@link AlertContants#CAN_UTILIZATION} for
+ * {@link AlertContants#CAN_UTILIZATION_TIME}.
+ */
+public class CanBusMonitor {
+  private static CanBusMonitor instance;
+
+  private final Map<String, Double> deviceFramesPerSecond = new LinkedHashMap<>();
+  private double estimatedFramesPerSecond = 0;
+  private boolean budgetLogged = false;
+  private int lastTxFullCount = 0;
+  private CANStatus status = new CANStatus();
+
+  private final Debouncer utilizationDebouncer =
+      new Debouncer(AlertContants.CAN_UTILIZATION_TIME, DebounceType.kRising);
+  private final Alert utilizationAlert =
+      new Alert(
+          "CAN bus utilization is high! Slow down status frames or move devices off the bus.",
+          AlertType.WARNING);
+
+  private CanBusMonitor() {}
+
+  /**
+   * Get the monitor instance.
+   *
+   * @return The monitor.
+   */
+  public static CanBusMonitor getInstance() {
+    if (instance == null) {
+      instance = new CanBusMonitor();
+    }
+    return instance;
+  }
+
+  /**
+   * Add a device to the frame budget. Registering the same name again replaces its estimate.
+   *
+   * @param name Device name to log the estimate under.
+   * @param framesPerSecond Status frames per second the device is configured to send.
+   */
+  public void registerDevice(String name, double framesPerSecond) {
+    Double previous = deviceFramesPerSecond.put(name, framesPerSecond);
+    estimatedFramesPerSecond += framesPerSecond - (previous == null ? 0 : previous);
+    budgetLogged = false;
+  }
+
+  /**
+   * Read the bus status and log it. Call once per loop.
+   *
+   * @return The status read this loop, for checks that need the error counters.
+   */
+  public CANStatus update() {
+    status = RobotController.getCANStatus();
+
+    Logger.recordOutput("CAN/Utilization", status.percentBusUtilization);
+    Logger.recordOutput("CAN/BusOffCount", status.busOffCount);
+    Logger.recordOutput("CAN/TxFullCount", status.txFullCount);
+    Logger.recordOutput("CAN/TxFullThisCycle", Math.max(0, status.txFullCount - lastTxFullCount));
+    Logger.recordOutput("CAN/ReceiveErrorCount", status.receiveErrorCount);
+    Logger.recordOutput("CAN/TransmitErrorCount", status.transmitErrorCount);
+    lastTxFullCount = status.txFullCount;
+
+    // The budget only changes when a device is configured, so it is logged once after that
+    if (!budgetLogged) {
+      for (Map.Entry<String, Double> device : deviceFramesPerSecond.entrySet()) {
+        Logger.recordOutput("CAN/FrameBudget/" + device.getKey(), device.getValue());
+      }
+      Logger.recordOutput("CAN/EstimatedFramesPerSecond", estimatedFramesPerSecond);
+      Logger.recordOutput(
+          "CAN/EstimatedUtilization",
+          estimatedFramesPerSecond / HardwareConstants.CAN_FRAME_CAPACITY);
+      budgetLogged = true;
+    }
+
+    utilizationAlert.set(
+        utilizationDebouncer.calculate(
+            status.percentBusUtilization > AlertContants.CAN_UTILIZATION));
+    return status;
+  }
+
+  /**
+   * Get the status read by the last {@link #update()}.
+   *
+   * @return The last bus status.
+   */
+  public CANStatus getStatus() {
+    return status;
+  }
+}
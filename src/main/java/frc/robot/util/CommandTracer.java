@@ -0,0 +1,188 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Subsystem;
+import frc.robot.util.RobotLog.Tag;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Traces the lifecycle of every command from the {@link CommandScheduler} callbacks.
+ *
+ * <p>Each command gets one trace the first time it is scheduled, which then counts its runs, time
+ * from initialize to end, and what ended it: finishing, a cancel, or another command taking one of
+ * its requirements. Nothing is allocated per loop once every command has run. The names of the
+ * running commands are logged every loop under {@code Commands/Active}.
+ *
+ * <p>{@link #report()} logs a summary of every command and which commands took requirements from
+ * which, per subsystem. Commands without requirements are marked, since they can drive the same
+ * mechanism as another command without the scheduler ever seeing a conflict.
+ */
+public class CommandTracer {
+  private final Map<Command, Trace> traces = new HashMap<>();
+  private final List<Trace> active = new ArrayList<>();
+  private final Map<String, long[]> contention = new HashMap<>();
+  private String[] activeNames = new String[0];
+  private boolean activeChanged = false;
+
+  /** Everything recorded about one command. */
+  private static class Trace {
+    private final String name;
+    private final String requirements;
+    private final Map<String, long[]> endedBy = new HashMap<>();
+    private long runs = 0;
+    private long executes = 0;
+    private long interrupts = 0;
+    private long startTime = 0;
+    private double totalSeconds = 0;
+    private double maxSeconds = 0;
+
+    private Trace(Command command) {
+      name = command.getName();
+      List<String> names = new ArrayList<>();
+      for (Subsystem subsystem : command.getRequirements()) {
+        names.add(subsystem.getName());
+      }
+      requirements = names.isEmpty() ? "none" : String.join(", ", names);
+    }
+  }
+
+  /** Hook the tracer into the {@link CommandScheduler}. */
+  public void bindScheduler() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    scheduler.onCommandInitialize(this::commandInitialized);
+    scheduler.onCommandExecute(command -> trace(command).executes++);
+    scheduler.onCommandFinish(command -> commandEnded(command, null));
+    scheduler.onCommandInterrupt(this::commandInterrupted);
+  }
+
+  private Trace trace(Command command) {
+    Trace trace = traces.get(command);
+    if (trace == null) {
+      trace = new Trace(command);
+      traces.put(command, trace);
+    }
+    return trace;
+  }
+
+  private void commandInitialized(Command command) {
+    Trace trace = trace(command);
+    trace.runs++;
+    trace.startTime = Logger.getTimestamp();
+    active.add(trace);
+    activeChanged = true;
+  }
+
+  private void commandInterrupted(Command command, Optional<Command> interruptor) {
+    Trace trace = trace(command);
+    trace.interrupts++;
+    if (interruptor.isEmpty()) {
+      commandEnded(command, "canceled");
+      return;
+    }
+    Command other = interruptor.get();
+    commandEnded(command, other.getName());
+    for (Subsystem subsystem : command.getRequirements()) {
+      if (other.getRequirements().contains(subsystem)) {
+        count(
+            contention,
+            subsystem.getName() + ": " + other.getName() + " took it from " + trace.name);
+      }
+    }
+  }
+
+  /**
+   * Close the command's current run.
+   *
+   * @param cause What ended it, or null if it finished on its own.
+   */
+  private void commandEnded(Command command, String cause) {
+    Trace trace = trace(command);
+    double seconds = (Logger.getTimestamp() - trace.startTime) / 1e6;
+    trace.totalSeconds += seconds;
+    trace.maxSeconds = Math.max(trace.maxSeconds, seconds);
+    count(trace.endedBy, cause == null ? "finished" : cause);
+    active.remove(trace);
+    activeChanged = true;
+  }
+
+  private static void count(Map<String, long[]> counts, String key) {
+    long[] count = counts.get(key);
+    if (count == null) {
+      count = new long[1];
+      counts.put(key, count);
+    }
+    count[0]++;
+  }
+
+  /** Log the running commands. Call once per loop after the scheduler runs. */
+  public void periodic() {
+    if (activeChanged) {
+      activeNames = new String[active.size()];
+      for (int i = 0; i < activeNames.length; i++) {
+        activeNames[i] = active.get(i).name;
+      }
+      activeChanged = false;
+    }
+    Logger.recordOutput("Commands/Active", activeNames);
+  }
+
+  /**
+   * Log and print every command's totals and the requirement contention so far. This walks every
+   * trace and builds strings, so call it on disable rather than while enabled.
+   */
+  public void report() {
+    if (traces.isEmpty()) {
+      return;
+    }
+    List<Trace> sorted = new ArrayList<>(traces.values());
+    sorted.sort((a, b) -> Double.compare(b.totalSeconds, a.totalSeconds));
+    String[] commandLines = new String[sorted.size()];
+    for (int i = 0; i < commandLines.length; i++) {
+      Trace trace = sorted.get(i);
+      commandLines[i] =
+          String.format(
+              "%s: %d runs, %d executes, %d interrupted, %.2f s total, %.2f s longest, requires %s,"
+                  + " ended by %s",
+              trace.name,
+              trace.runs,
+              trace.executes,
+              trace.interrupts,
+              trace.totalSeconds,
+              trace.maxSeconds,
+              trace.requirements,
+              counts(trace.endedBy));
+    }
+
+    List<Map.Entry<String, long[]>> conflicts = new ArrayList<>(contention.entrySet());
+    conflicts.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+    String[] contentionLines = new String[conflicts.size()];
+    for (int i = 0; i < contentionLines.length; i++) {
+      contentionLines[i] = conflicts.get(i).getKey() + " x" + conflicts.get(i).getValue()[0];
+    }
+
+    Logger.recordOutput("Commands/Report", commandLines);
+    Logger.recordOutput("Commands/Contention", contentionLines);
+    RobotLog.info(Tag.COMMANDS, commandLines.length + " commands ran");
+    for (String line : contentionLines) {
+      RobotLog.info(Tag.COMMANDS, line);
+    }
+  }
+
+  private static String counts(Map<String, long[]> counts) {
+    List<String> parts = new ArrayList<>();
+    for (var entry : counts.entrySet()) {
+      parts.add(entry.getKey() + " x" + entry.getValue()[0]);
+    }
+    return parts.isEmpty() ? "nothing yet" : String.join(", ", parts);
+  }
+}
@@ -0,0 +1,127 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants.HardwareConstants;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Wraps a motor or actuator setter so repeated writes of the same setpoint do not go out on the CAN
+ * bus.
+ *
+ * <p>Commands bound with {@code repeatedly()} set the same output every loop. A write is only sent
+ * when the setpoint moves by more than the tolerance, or when {@link
+ * HardwareConstants#OUTPUT_REFRESH_INTERVAL} has passed since the last one, which refreshes the
+ * setpoint in case the device rebooted. A change to exactly zero is always sent so stops are never
+ * swallowed by the tolerance.
+ *
+ * <p>Frames sent and suppressed are counted per device and logged under {@code CANOutputs/} by
+ * {@link #logAll()}.
+ */
+public class DedupedOutput {
+  private static final List<DedupedOutput> outputs = new ArrayList<>();
+
+  private final String name;
+  private final DoubleConsumer writer;
+  private final double tolerance;
+  private final double refreshInterval;
+  private final String sentKey;
+  private final String suppressedKey;
+
+  private double lastValue = Double.NaN;
+  private double lastWriteTime = 0;
+  private long sent = 0;
+  private long suppressed = 0;
+
+  /**
+   * Creates an output with the default tolerance and refresh interval from {@link
+   * HardwareConstants}.
+   *
+   * @param name Device name to log the frame counts under.
+   * @param writer Sends a setpoint to the device, such as {@code motor::set}.
+   */
+  public DedupedOutput(String name, DoubleConsumer writer) {
+    this(
+        name,
+        writer,
+        HardwareConstants.OUTPUT_TOLERANCE,
+        HardwareConstants.OUTPUT_REFRESH_INTERVAL);
+  }
+
+  /**
+   * Creates an output.
+   *
+   * @param name Device name to log the frame counts under.
+   * @param writer Sends a setpoint to the device, such as {@code motor::set}.
+   * @param tolerance Largest setpoint change that is treated as unchanged.
+   * @param refreshInterval Seconds after which an unchanged setpoint is sent again.
+   */
+  public DedupedOutput(
+      String name, DoubleConsumer writer, double tolerance, double refreshInterval) {
+    this.name = name;
+    this.writer = writer;
+    this.tolerance = tolerance;
+    this.refreshInterval = refreshInterval;
+    sentKey = "CANOutputs/" + name + "/FramesSent";
+    suppressedKey = "CANOutputs/" + name + "/FramesSuppressed";
+    outputs.add(this);
+  }
+
+  /**
+   * Set the output, sending it to the device only if it changed or is due for a refresh.
+   *
+   * @param value The setpoint.
+   */
+  public void set(double value) {
+    double now = Timer.getFPGATimestamp();
+    boolean unchanged =
+        Math.abs(value - lastValue) <= tolerance && (value != 0 || lastValue == 0);
+    if (unchanged && now - lastWriteTime < refreshInterval) {
+      suppressed++;
+      return;
+    }
+    writer.accept(value);
+    FlightEvents.motorOutput(name, value);
+    lastValue = value;
+    lastWriteTime = now;
+    sent++;
+  }
+
+  /** Forget the last setpoint so the next {@link #set(double)} is always sent. */
+  public void invalidate() {
+    lastValue = Double.NaN;
+  }
+
+  /**
+   * Get the number of setpoints sent to the device.
+   *
+   * @return Frames sent since the robot started.
+   */
+  public long getSentCount() {
+    return sent;
+  }
+
+  /**
+   * Get the number of setpoints that were skipped.
+   *
+   * @return Frames suppressed since the robot started.
+   */
+  public long getSuppressedCount() {
+    return suppressed;
+  }
+
+  /** Log the frame counts of every output. The counts are totals, so it need not run every loop. */
+  public static void logAll() {
+    for (int i = 0; i < outputs.size(); i++) {
+      DedupedOutput output = outputs.get(i);
+      Logger.recordOutput(output.sentKey, output.sent);
+      Logger.recordOutput(output.suppressedKey, output.suppressed);
+    }
+  }
+}
@@ -0,0 +1,192 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants.NTFilterConstants;
+import frc.robot.util.RobotLog.Tag;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.littletonrobotics.junction.LogDataReceiver;
+import org.littletonrobotics.junction.LogTable;
+import org.littletonrobotics.junction.LogTable.LogValue;
+import org.littletonrobotics.junction.networktables.NT4Publisher;
+
+/**
+ * Sends an allow-listed part of the log to NetworkTables at a reduced rate.
+ *
+ * <p>The log file still gets every field, every loop, from its own receiver. This receiver passes
+ * only keys matching the active {@link Profile}'s prefixes to an {@link NT4Publisher}, once every
+ * few loops. The profile is {@code MATCH} while the log shows the FMS attached and {@link
+ * NTFilterConstants#OFF_FIELD_PROFILE} otherwise, so replays pick the same profile as the match.
+ *
+ * <p>Payload bytes of the fields forwarded and held back are counted, before NetworkTables skips
+ * unchanged values. AdvantageKit runs receivers on their own thread, so the counts are read from
+ * the robot loop with {@link #getSentBytes()} and {@link #getSuppressedBytes()}.
+ */
+public class FilteredNT4Publisher implements LogDataReceiver {
+  private static final String FMS_ATTACHED_KEY = "/DriverStation/FMSAttached";
+
+  /** Which keys go to NetworkTables, and how often. */
+  public enum Profile {
+    /** Everything, every loop. */
+    PITS(NTFilterConstants.PITS_CYCLES, ""),
+    /** Everything except the raw camera inputs. */
+    PRACTICE(
+        NTFilterConstants.PRACTICE_CYCLES,
+        "DriverStation/",
+        "SystemStats/",
+        "PowerDistribution/",
+        "RealOutputs/",
+        "Intake/",
+        "Conveyor/",
+        "Dump/",
+        "Climb/"),
+    /** What the drive team and pit crew watch during a match. */
+    MATCH(
+        NTFilterConstants.MATCH_CYCLES,
+        "DriverStation/",
+        "SystemStats/BatteryVoltage",
+        "SystemStats/BrownedOut",
+        "RealOutputs/Auto/",
+        "RealOutputs/Notes/",
+        "RealOutputs/Flywheel/",
+        "RealOutputs/Telemetry/Tier",
+        "RealOutputs/LoopProfile/TotalMs",
+        "RealOutputs/CAN/Utilization");
+
+    private final int cycles;
+    private final String[] prefixes;
+
+    Profile(int cycles, String... keys) {
+      this.cycles = Math.max(1, cycles);
+      prefixes = new String[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        prefixes[i] = "/" + keys[i];
+      }
+    }
+
+    private boolean allows(String key) {
+      for (String prefix : prefixes) {
+        if (key.startsWith(prefix)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  private final NT4Publisher publisher = new NT4Publisher();
+  private final Map<String, Boolean> allowed = new HashMap<>();
+  private final AtomicLong sentBytes = new AtomicLong();
+  private final AtomicLong suppressedBytes = new AtomicLong();
+  private volatile Profile profile;
+  private long cycle = 0;
+
+  @Override
+  public void putTable(LogTable table) throws InterruptedException {
+    Map<String, LogValue> fields = table.getAll(false);
+    LogValue fmsAttached = fields.get(FMS_ATTACHED_KEY);
+    Profile active =
+        fmsAttached != null && fmsAttached.getBoolean()
+            ? Profile.MATCH
+            : NTFilterConstants.OFF_FIELD_PROFILE;
+    if (active != profile) {
+      RobotLog.info(Tag.LOG, "NetworkTables profile " + active);
+      profile = active;
+      allowed.clear();
+      cycle = 0;
+    }
+
+    boolean publishing = cycle++ % active.cycles == 0;
+    LogTable filtered = publishing ? new LogTable(table.getTimestamp()) : null;
+    long sent = 0;
+    long suppressed = 0;
+    for (Map.Entry<String, LogValue> field : fields.entrySet()) {
+      long bytes = payloadBytes(field.getValue());
+      if (publishing && isAllowed(active, field.getKey())) {
+        // Keys are absolute, the new table adds its own leading slash
+        filtered.put(field.getKey().substring(1), field.getValue());
+        sent += bytes;
+      } else {
+        suppressed += bytes;
+      }
+    }
+    sentBytes.addAndGet(sent);
+    suppressedBytes.addAndGet(suppressed);
+    if (publishing) {
+      publisher.putTable(filtered);
+    }
+  }
+
+  private boolean isAllowed(Profile active, String key) {
+    Boolean result = allowed.get(key);
+    if (result == null) {
+      result = active.allows(key);
+      allowed.put(key, result);
+    }
+    return result;
+  }
+
+  /** Approximate size of a field's value on the wire, without the NetworkTables framing. */
+  private static long payloadBytes(LogValue value) {
+    switch (value.type) {
+      case Raw:
+        return value.getRaw().length;
+      case Boolean:
+        return 1;
+      case Integer:
+      case Double:
+        return 8;
+      case Float:
+        return 4;
+      case String:
+        return value.getString().length();
+      case BooleanArray:
+        return value.getBooleanArray().length;
+      case IntegerArray:
+        return value.getIntegerArray().length * 8L;
+      case FloatArray:
+        return value.getFloatArray().length * 4L;
+      case DoubleArray:
+        return value.getDoubleArray().length * 8L;
+      case StringArray:
+        long total = 0;
+        for (String string : value.getStringArray()) {
+          total += string.length();
+        }
+        return total;
+      default:
+        return 0;
+    }
+  }
+
+  /**
+   * Get the active profile.
+   *
+   * @return The {@link Profile} used for the last table, or null before the first.
+   */
+  public Profile getProfile() {
+    return profile;
+  }
+
+  /**
+   * Get the payload bytes forwarded to NetworkTables.
+   *
+   * @return Bytes sent since the robot started.
+   */
+  public long getSentBytes() {
+    return sentBytes.get();
+  }
+
+  /**
+   * Get the payload bytes held back from NetworkTables.
+   *
+   * @return Bytes suppressed since the robot started.
+   */
+  public long getSuppressedBytes() {
+    return suppressedBytes.get();
+  }
+}
@@ -0,0 +1,216 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the robot loop, shown under "Robot" in JDK Mission Control.
+ *
+ * <p>Events are only allocated while a recording has their type enabled, so with no recording
+ * running each call here is a single flag check. None of them record stack traces, which keeps
+ * them cheap enough for the {@link FlightRecording} that runs all match. Section and command
+ * execute events fire many times every loop, so they are disabled by default and only recorded
+ * while {@link FlightRecording#setLoopDetail(boolean)} has turned them on.
+ */
+public final class FlightEvents {
+  private FlightEvents() {}
+
+  /** One pass of the robot loop. */
+  @Name("frc.robot.Loop")
+  @Label("Robot Loop")
+  @Category("Robot")
+  @StackTrace(false)
+  public static class LoopEvent extends Event {}
+
+  /** A timed part of the loop, such as a subsystem {@code periodic()}. */
+  @Name("frc.robot.Section")
+  @Label("Loop Section")
+  @Description("A section timed by the loop profiler")
+  @Category("Robot")
+  @StackTrace(false)
+  @Enabled(false)
+  public static class SectionEvent extends Event {
+    @Label("Section")
+    String section;
+  }
+
+  /** A command changing state in the scheduler. */
+  @Name("frc.robot.Command")
+  @Label("Command")
+  @Category("Robot")
+  @StackTrace(false)
+  public static class CommandEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Phase")
+    @Description("initialize, end or interrupt")
+    String phase;
+  }
+
+  /** A command's {@code execute()} being run by the scheduler. */
+  @Name("frc.robot.CommandExecute")
+  @Label("Command Execute")
+  @Category("Robot")
+  @StackTrace(false)
+  @Enabled(false)
+  public static class CommandExecuteEvent extends Event {
+    @Label("Command")
+    String command;
+  }
+
+  /** A camera frame decoded and offered to pose fusion. */
+  @Name("frc.robot.VisionFrame")
+  @Label("Vision Frame")
+  @Category("Robot")
+  @StackTrace(false)
+  public static class VisionFrameEvent extends Event {
+    @Label("Camera")
+    String camera;
+
+    @Label("Latency (ms)")
+    @Description("Pipeline latency reported by the camera")
+    double latencyMs;
+
+    @Label("Targets")
+    int targets;
+
+    @Label("Fused")
+    @Description("Whether the frame was accepted into the pose estimate")
+    boolean fused;
+  }
+
+  /** A setpoint sent to a motor or actuator. */
+  @Name("frc.robot.MotorOutput")
+  @Label("Motor Output")
+  @Category("Robot")
+  @StackTrace(false)
+  public static class MotorOutputEvent extends Event {
+    @Label("Device")
+    String device;
+
+    @Label("Value")
+    double value;
+  }
+
+  private static final EventType LOOP = EventType.getEventType(LoopEvent.class);
+  private static final EventType SECTION = EventType.getEventType(SectionEvent.class);
+  private static final EventType COMMAND = EventType.getEventType(CommandEvent.class);
+  private static final EventType COMMAND_EXECUTE =
+      EventType.getEventType(CommandExecuteEvent.class);
+  private static final EventType VISION_FRAME = EventType.getEventType(VisionFrameEvent.class);
+  private static final EventType MOTOR_OUTPUT = EventType.getEventType(MotorOutputEvent.class);
+
+  /**
+   * Start a loop event.
+   *
+   * @return The started event, or null if loop events are not being recorded.
+   */
+  public static LoopEvent beginLoop() {
+    if (!LOOP.isEnabled()) {
+      return null;
+    }
+    LoopEvent event = new LoopEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Start a section event.
+   *
+   * @param section Name of the section.
+   * @return The started event, or null if section events are not being recorded.
+   */
+  public static SectionEvent beginSection(String section) {
+    if (!SECTION.isEnabled()) {
+      return null;
+    }
+    SectionEvent event = new SectionEvent();
+    event.section = section;
+    event.begin();
+    return event;
+  }
+
+  /**
+   * End and commit an event started by this class.
+   *
+   * @param event The event, or null to do nothing.
+   */
+  public static void end(Event event) {
+    if (event != null) {
+      event.commit();
+    }
+  }
+
+  /**
+   * Record a command phase.
+   *
+   * @param command Name of the command.
+   * @param phase The scheduler callback that fired.
+   */
+  public static void command(String command, String phase) {
+    if (COMMAND.isEnabled()) {
+      CommandEvent event = new CommandEvent();
+      event.command = command;
+      event.phase = phase;
+      event.commit();
+    }
+  }
+
+  /**
+   * Record a command's {@code execute()}.
+   *
+   * @param command Name of the command.
+   */
+  public static void commandExecute(String command) {
+    if (COMMAND_EXECUTE.isEnabled()) {
+      CommandExecuteEvent event = new CommandExecuteEvent();
+      event.command = command;
+      event.commit();
+    }
+  }
+
+  /**
+   * Record a processed vision frame.
+   *
+   * @param camera Name of the camera.
+   * @param latencyMs Pipeline latency reported with the frame.
+   * @param targets Number of targets in the frame.
+   * @param fused Whether the frame was accepted into the pose estimate.
+   */
+  public static void visionFrame(String camera, double latencyMs, int targets, boolean fused) {
+    if (VISION_FRAME.isEnabled()) {
+      VisionFrameEvent event = new VisionFrameEvent();
+      event.camera = camera;
+      event.latencyMs = latencyMs;
+      event.targets = targets;
+      event.fused = fused;
+      event.commit();
+    }
+  }
+
+  /**
+   * Record a setpoint sent to a device.
+   *
+   * @param device Name of the device.
+   * @param value The setpoint.
+   */
+  public static void motorOutput(String device, double value) {
+    if (MOTOR_OUTPUT.isEnabled()) {
+      MotorOutputEvent event = new MotorOutputEvent();
+      event.device = device;
+      event.value = value;
+      event.commit();
+    }
+  }
+}
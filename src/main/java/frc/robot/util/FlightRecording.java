@@ -0,0 +1,160 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.Constants;
+import frc.robot.Constants.FlightRecorderConstants;
+import frc.robot.util.RobotLog.Tag;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+/**
+ * A continuous Java Flight Recorder recording of the robot, dumped to the USB stick on request or
+ * when a fault is detected.
+ *
+ * <p>The recording uses the JDK's low overhead {@code default} settings plus the {@link
+ * FlightEvents} that are enabled by default, and keeps the last {@link
+ * FlightRecorderConstants#MAX_AGE_SECONDS} seconds up to {@link
+ * FlightRecorderConstants#MAX_SIZE_BYTES}, so it can run all match. Loop section and command
+ * execute events are only added on demand, through {@link #setLoopDetail(boolean)} or the
+ * dashboard. A dump writes the window to a {@code .jfr} file on a background thread, which opens in
+ * JDK Mission Control. Dumps can be requested from the dashboard, and {@link #dumpOnFault(String)}
+ * takes one at most every {@link FlightRecorderConstants#FAULT_DUMP_INTERVAL} seconds.
+ */
+public final class FlightRecording {
+  private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+  private static Recording recording;
+  private static double lastFaultDump = Double.NEGATIVE_INFINITY;
+  private static final ExecutorService dumper =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "FlightDump");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+          });
+
+  private FlightRecording() {}
+
+  /** Start the continuous recording and put a dump button on the dashboard. */
+  public static void start() {
+    if (!FlightRecorderConstants.ENABLED
+        || Constants.CURRENT_MODE == Constants.Mode.REPLAY
+        || !FlightRecorder.isAvailable()) {
+      return;
+    }
+    try {
+      Configuration configuration =
+          Configuration.getConfiguration(FlightRecorderConstants.CONFIGURATION);
+      recording = new Recording(configuration);
+      recording.setName("Robot");
+      recording.setToDisk(true);
+      recording.setMaxAge(Duration.ofSeconds(FlightRecorderConstants.MAX_AGE_SECONDS));
+      recording.setMaxSize(FlightRecorderConstants.MAX_SIZE_BYTES);
+      recording.start();
+      RobotLog.info(Tag.JFR, "Continuous recording started");
+    } catch (IOException | ParseException | IllegalStateException e) {
+      recording = null;
+      RobotLog.warn(Tag.JFR, "Could not start recording: " + e.getMessage());
+      return;
+    }
+
+    SmartDashboard.putData(
+        "Dump Flight Recording",
+        Commands.runOnce(() -> dump("manual"))
+            .ignoringDisable(true)
+            .withName("Dump Flight Recording"));
+    SmartDashboard.putData(
+        "Record Loop Detail",
+        Commands.startEnd(() -> setLoopDetail(true), () -> setLoopDetail(false))
+            .ignoringDisable(true)
+            .withName("Record Loop Detail"));
+  }
+
+  /**
+   * Turn recording of loop section and command execute events on or off. They allocate an event per
+   * section and command every loop, so they are left off for the continuous recording.
+   *
+   * @param enabled Whether to record them.
+   */
+  public static void setLoopDetail(boolean enabled) {
+    Recording active = recording;
+    if (active == null) {
+      return;
+    }
+    if (enabled) {
+      active.enable(FlightEvents.SectionEvent.class);
+      active.enable(FlightEvents.CommandExecuteEvent.class);
+    } else {
+      active.disable(FlightEvents.SectionEvent.class);
+      active.disable(FlightEvents.CommandExecuteEvent.class);
+    }
+    RobotLog.info(Tag.JFR, "Loop detail recording " + (enabled ? "on" : "off"));
+  }
+
+  /** Record command phases from the {@link CommandScheduler} callbacks. */
+  public static void bindScheduler() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    scheduler.onCommandInitialize(command -> FlightEvents.command(command.getName(), "initialize"));
+    scheduler.onCommandExecute(command -> FlightEvents.commandExecute(command.getName()));
+    scheduler.onCommandFinish(command -> FlightEvents.command(command.getName(), "end"));
+    scheduler.onCommandInterrupt(command -> FlightEvents.command(command.getName(), "interrupt"));
+  }
+
+  /**
+   * Write the recording so far to the log directory on a background thread.
+   *
+   * @param reason Short tag for the file name, such as {@code "manual"}.
+   */
+  public static void dump(String reason) {
+    Recording active = recording;
+    if (active == null) {
+      return;
+    }
+    String name = "robot_" + reason + "_" + LocalDateTime.now().format(FILE_TIME) + ".jfr";
+    dumper.execute(
+        () -> {
+          ThreadPriorities.configureBackgroundThread();
+          Path directory = Paths.get(FlightRecorderConstants.DIRECTORY);
+          Path file = Files.isDirectory(directory) ? directory.resolve(name) : Paths.get(name);
+          try {
+            active.dump(file);
+            RobotLog.info(Tag.JFR, "Wrote " + file);
+          } catch (IOException e) {
+            RobotLog.warn(Tag.JFR, "Could not write " + file + ": " + e.getMessage());
+          }
+        });
+  }
+
+  /**
+   * Dump the recording for a fault, unless one was dumped for a fault recently.
+   *
+   * @param reason Short tag for the file name, such as {@code "overrun"}.
+   */
+  public static void dumpOnFault(String reason) {
+    double now = Timer.getFPGATimestamp();
+    if (now - lastFaultDump < FlightRecorderConstants.FAULT_DUMP_INTERVAL) {
+      return;
+    }
+    lastFaultDump = now;
+    dump(reason);
+  }
+}
@@ -0,0 +1,203 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.pathplanner.lib.path.PathPlannerPath;
+import com.pathplanner.lib.path.PathPlannerTrajectory;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.SwerveDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Translation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.SwerveDriveKinematics;
+import edu.wpi.first.math.kinematics.SwerveModulePosition;
+import edu.wpi.first.math.kinematics.SwerveModuleState;
+import frc.robot.Constants;
+import frc.robot.Constants.WarmupConstants;
+import frc.robot.subsystems.swerve.SwerveSubsystem;
+import frc.robot.util.RobotLog.Tag;
+import java.util.List;
+import org.littletonrobotics.junction.Logger;
+import swervelib.SwerveController;
+import swervelib.math.SwerveMath;
+
+/**
+ * Runs the drive, kinematics, trajectory and pose estimation math while disabled so HotSpot has
+ * compiled it before the first enabled loop.
+ *
+ * <p>Nothing is sent to hardware. Each iteration computes the same things as {@code AbsoluteDrive}
+ * and an auto path, on private copies of the kinematics and pose estimator, and the results are
+ * accumulated into a field so the JIT cannot drop the work. The path's trajectory is generated once
+ * up front, since generating it takes longer than a loop's budget, and only sampled here.
+ *
+ * <p>{@link #periodic()} runs iterations for {@link WarmupConstants#LOOP_BUDGET_MS} each loop. Once
+ * the mean iteration time over {@link WarmupConstants#WINDOW} iterations stops changing for {@link
+ * WarmupConstants#CONVERGED_WINDOWS} windows in a row, the code is considered compiled and warm-up
+ * stops. It also stops at {@link WarmupConstants#MAX_ITERATIONS}, which is logged as hitting the
+ * cap rather than converging.
+ */
+public class JitWarmup {
+  private final SwerveSubsystem drivebase;
+  private final SwerveDriveKinematics kinematics;
+  private final SwerveDrivePoseEstimator poseEstimator;
+  private final SwerveModulePosition[] positions;
+  private final PathPlannerTrajectory trajectory;
+
+  private double sink = 0;
+  private int iterations = 0;
+  private long windowNanos = 0;
+  private int windowCount = 0;
+  private double lastWindowMicros = Double.NaN;
+  private int settledWindows = 0;
+  private boolean converged = false;
+  private boolean hitCap = false;
+
+  /**
+   * Creates the warm-up routine.
+   *
+   * @param drivebase The drivebase to read the configuration and heading from. It is never driven.
+   */
+  public JitWarmup(SwerveSubsystem drivebase) {
+    this.drivebase = drivebase;
+    kinematics = drivebase.getKinematics();
+    int moduleCount = kinematics.toSwerveModuleStates(new ChassisSpeeds()).length;
+    positions = new SwerveModulePosition[moduleCount];
+    for (int i = 0; i < moduleCount; i++) {
+      positions[i] = new SwerveModulePosition();
+    }
+    poseEstimator =
+        new SwerveDrivePoseEstimator(kinematics, new Rotation2d(), positions, new Pose2d());
+
+    PathPlannerTrajectory loaded;
+    try {
+      loaded =
+          PathPlannerPath.fromPathFile(WarmupConstants.PATH)
+              .getTrajectory(new ChassisSpeeds(), new Rotation2d());
+    } catch (RuntimeException e) {
+      RobotLog.warn(Tag.WARMUP, "Could not load " + WarmupConstants.PATH + ": " + e);
+      loaded = null;
+    }
+    trajectory = loaded;
+  }
+
+  /** Run warm-up iterations for this loop's budget. Call from {@code disabledPeriodic()}. */
+  public void periodic() {
+    if (!WarmupConstants.ENABLED || isDone()) {
+      return;
+    }
+    long loopEnd = System.nanoTime() + (long) (WarmupConstants.LOOP_BUDGET_MS * 1e6);
+    long start = System.nanoTime();
+    while (start < loopEnd && !isDone()) {
+      runIteration(iterations);
+      long end = System.nanoTime();
+      addTiming(end - start);
+      start = end;
+    }
+    Logger.recordOutput("Warmup/Iterations", iterations);
+    Logger.recordOutput("Warmup/IterationMicros", lastWindowMicros);
+    Logger.recordOutput("Warmup/Converged", converged);
+    Logger.recordOutput("Warmup/HitCap", hitCap);
+  }
+
+  /**
+   * Whether the warmed code has stopped getting faster.
+   *
+   * @return True once the iteration time has settled.
+   */
+  public boolean isConverged() {
+    return converged;
+  }
+
+  /**
+   * Whether warm-up has finished.
+   *
+   * @return True once warm-up has converged or hit {@link WarmupConstants#MAX_ITERATIONS}.
+   */
+  public boolean isDone() {
+    return converged || hitCap;
+  }
+
+  private void addTiming(long nanos) {
+    iterations++;
+    windowNanos += nanos;
+    windowCount++;
+    if (windowCount == WarmupConstants.WINDOW) {
+      double windowMicros = windowNanos / 1e3 / windowCount;
+      double change = Math.abs(windowMicros - lastWindowMicros) / lastWindowMicros;
+      settledWindows = change < WarmupConstants.CONVERGENCE_TOLERANCE ? settledWindows + 1 : 0;
+      lastWindowMicros = windowMicros;
+      windowNanos = 0;
+      windowCount = 0;
+    }
+    if (settledWindows >= WarmupConstants.CONVERGED_WINDOWS) {
+      converged = true;
+      RobotLog.info(
+          Tag.WARMUP,
+          String.format(
+              "Converged after %d iterations at %.1f us per iteration",
+              iterations, lastWindowMicros));
+    } else if (iterations >= WarmupConstants.MAX_ITERATIONS) {
+      hitCap = true;
+      RobotLog.warn(
+          Tag.WARMUP,
+          String.format(
+              "Stopped at the %d iteration cap without converging, last %.1f us per iteration",
+              iterations, lastWindowMicros));
+    }
+  }
+
+  /** One loop's worth of the hot math, driven by synthetic stick and sensor inputs. */
+  private void runIteration(int i) {
+    double phase = i * 0.01;
+    double stickX = Math.sin(phase);
+    double stickY = Math.cos(phase);
+
+    // AbsoluteDrive
+    ChassisSpeeds desiredSpeeds = drivebase.getTargetSpeeds(stickX, stickY, stickY, stickX);
+    Translation2d translation = SwerveController.getTranslation2d(desiredSpeeds);
+    translation =
+        SwerveMath.limitVelocity(
+            translation,
+            desiredSpeeds,
+            new Pose2d(stickX, stickY, new Rotation2d(phase)),
+            Constants.LOOP_TIME,
+            Constants.ROBOT_MASS,
+            List.of(Constants.CHASSIS),
+            drivebase.getSwerveDriveConfiguration());
+
+    // Kinematics
+    SwerveModuleState[] states =
+        kinematics.toSwerveModuleStates(
+            ChassisSpeeds.fromFieldRelativeSpeeds(
+                translation.getX(),
+                translation.getY(),
+                desiredSpeeds.omegaRadiansPerSecond,
+                new Rotation2d(phase)));
+    SwerveDriveKinematics.desaturateWheelSpeeds(states, drivebase.maximumSpeed);
+    ChassisSpeeds measuredSpeeds = kinematics.toChassisSpeeds(states);
+
+    // Pose estimation
+    for (int m = 0; m < positions.length; m++) {
+      positions[m] =
+          new SwerveModulePosition(
+              positions[m].distanceMeters + states[m].speedMetersPerSecond * Constants.LOOP_PERIOD,
+              states[m].angle);
+    }
+    double timestamp = i * Constants.LOOP_PERIOD;
+    Pose2d pose = poseEstimator.updateWithTime(timestamp, new Rotation2d(phase), positions);
+    if (i % 5 == 0) {
+      poseEstimator.addVisionMeasurement(pose, timestamp - 0.03, VecBuilder.fill(0.5, 0.5, 1.0));
+    }
+
+    // Trajectory sampling
+    if (trajectory != null) {
+      double time = phase % trajectory.getTotalTimeSeconds();
+      sink += trajectory.sample(time).velocityMps;
+    }
+
+    sink += pose.getX() + measuredSpeeds.vxMetersPerSecond;
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants;
+import frc.robot.Constants.ProfilerConstants;
+import frc.robot.Constants.ThreadConstants;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Measures how far each robot loop starts from its scheduled period.
+ *
+ * <p>The loop start is the AdvantageKit cycle timestamp, which is taken as the loop wakes up, so
+ * the deviation does not depend on where in the loop this is called from. Deviations are counted in
+ * a fixed histogram of {@link ThreadConstants#JITTER_BIN_MS} bins covering plus or minus {@link
+ * ThreadConstants#JITTER_RANGE_MS}, with the outermost bins holding everything beyond. The
+ * histogram and its percentiles are logged under {@code Jitter/} every {@link
+ * ProfilerConstants#REPORT_CYCLES} cycles, next to the thread mode so runs can be compared.
+ */
+public class LoopJitterMonitor {
+  private final long[] bins;
+  private final double[] binStartsMs;
+  private long lastLoopStart = -1;
+  private long count = 0;
+  private double maxMs = 0;
+  private int cycles = 0;
+
+  /** Creates the monitor. */
+  public LoopJitterMonitor() {
+    int halfBins = (int) Math.ceil(ThreadConstants.JITTER_RANGE_MS / ThreadConstants.JITTER_BIN_MS);
+    bins = new long[halfBins * 2];
+    binStartsMs = new double[bins.length];
+    for (int i = 0; i < bins.length; i++) {
+      binStartsMs[i] = (i - halfBins) * ThreadConstants.JITTER_BIN_MS;
+    }
+  }
+
+  /** Record this loop's start. Call once per loop from {@code robotPeriodic()}. */
+  public void periodic() {
+    long loopStart = Logger.getTimestamp();
+    if (lastLoopStart >= 0) {
+      double deviationMs = (loopStart - lastLoopStart) / 1000.0 - Constants.LOOP_PERIOD * 1000.0;
+      int bin = (int) Math.floor(deviationMs / ThreadConstants.JITTER_BIN_MS) + bins.length / 2;
+      bins[Math.max(0, Math.min(bins.length - 1, bin))]++;
+      count++;
+      maxMs = Math.max(maxMs, Math.abs(deviationMs));
+      Logger.recordOutput("Jitter/DeviationMs", deviationMs);
+    }
+    lastLoopStart = loopStart;
+
+    if (++cycles % ProfilerConstants.REPORT_CYCLES == 0 && count > 0) {
+      Logger.recordOutput("Jitter/Mode", ThreadPriorities.getMode());
+      Logger.recordOutput("Jitter/Histogram", bins);
+      Logger.recordOutput("Jitter/HistogramBinStartsMs", binStartsMs);
+      Logger.recordOutput("Jitter/P50Ms", percentile(0.50));
+      Logger.recordOutput("Jitter/P95Ms", percentile(0.95));
+      Logger.recordOutput("Jitter/P99Ms", percentile(0.99));
+      Logger.recordOutput("Jitter/MaxAbsMs", maxMs);
+    }
+  }
+
+  /** Upper edge of the bin holding the quantile. */
+  private double percentile(double quantile) {
+    long target = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < bins.length; i++) {
+      seen += bins[i];
+      if (seen >= target) {
+        return binStartsMs[i] + ThreadConstants.JITTER_BIN_MS;
+      }
+    }
+    return binStartsMs[bins.length - 1] + ThreadConstants.JITTER_BIN_MS;
+  }
+}
@@ -0,0 +1,230 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants.ProfilerConstants;
+import frc.robot.util.Alert.AlertType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Times sections of the robot loop and keeps rolling p50/p95/p99/max statistics for each.
+ *
+ * <p>Subsystems time their own {@code periodic()} with a {@link Section}. Command {@code execute()}
+ * times are measured from {@link CommandScheduler} callbacks: the profiler marks the end of button
+ * polling, which is the point the scheduler starts running commands, and every execute callback
+ * closes the interval for the command that just ran. Each command interval therefore also contains
+ * the previous command's {@code isFinished()}, which is cheap for every command in this project.
+ *
+ * <p>All sample windows are preallocated. Statistics are computed every {@link
+ * ProfilerConstants#REPORT_CYCLES} cycles and logged under {@code LoopProfile/}. Timed sections are
+ * also recorded as {@link FlightEvents.SectionEvent}s while loop detail is on, and a sustained
+ * overrun dumps the {@link FlightRecording}.
+ */
+public class LoopProfiler {
+  private static LoopProfiler instance;
+
+  private final List<Section> sections = new ArrayList<>();
+  // Keyed by name, since commands built on the fly would otherwise add an entry per instance
+  private final Map<String, Section> commandSections = new HashMap<>();
+  private final double[] scratch = new double[ProfilerConstants.WINDOW_SIZE];
+  private final Section total;
+
+  private long cycleStart = 0;
+  private long commandMark = 0;
+  private int cycleCount = 0;
+  private int overrunCycles = 0;
+
+  private final Alert overrunAlert =
+      new Alert(
+          "Robot loop over budget for "
+              + ProfilerConstants.OVERRUN_CYCLES
+              + " cycles, check LoopProfile/ for the cause.",
+          AlertType.WARNING);
+
+  /** A named, timed part of the robot loop. */
+  public static class Section {
+    private final String name;
+    private final String p50Key;
+    private final String p95Key;
+    private final String p99Key;
+    private final String maxKey;
+    private final double[] window = new double[ProfilerConstants.WINDOW_SIZE];
+    private int size = 0;
+    private int next = 0;
+    private long startTime = 0;
+    private double lastMs = 0;
+    private FlightEvents.SectionEvent event;
+
+    private Section(String name) {
+      this.name = name;
+      p50Key = "LoopProfile/" + name + "/P50Ms";
+      p95Key = "LoopProfile/" + name + "/P95Ms";
+      p99Key = "LoopProfile/" + name + "/P99Ms";
+      maxKey = "LoopProfile/" + name + "/MaxMs";
+    }
+
+    /** Start timing this section. */
+    public void start() {
+      event = FlightEvents.beginSection(name);
+      startTime = Logger.getRealTimestamp();
+    }
+
+    /** Stop timing this section and record the elapsed time. */
+    public void stop() {
+      record((Logger.getRealTimestamp() - startTime) / 1000.0);
+      FlightEvents.end(event);
+      event = null;
+    }
+
+    /**
+     * Record a sample directly.
+     *
+     * @param milliseconds Time taken by the section in milliseconds.
+     */
+    public void record(double milliseconds) {
+      lastMs = milliseconds;
+      window[next] = milliseconds;
+      next = (next + 1) % window.length;
+      if (size < window.length) {
+        size++;
+      }
+    }
+
+    /**
+     * Get the name of the section.
+     *
+     * @return The name the section is logged under.
+     */
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Get the most recent sample.
+     *
+     * @return The last recorded time in milliseconds.
+     */
+    public double getLastMs() {
+      return lastMs;
+    }
+  }
+
+  private LoopProfiler() {
+    total = section("Total");
+  }
+
+  /**
+   * Get the profiler instance.
+   *
+   * @return The {@link LoopProfiler} singleton.
+   */
+  public static LoopProfiler getInstance() {
+    if (instance == null) {
+      instance = new LoopProfiler();
+    }
+    return instance;
+  }
+
+  /**
+   * Get or create a section. Call this once at construction and keep the returned section, not on
+   * every loop.
+   *
+   * @param name Name to log the section under.
+   * @return The {@link Section} for the name.
+   */
+  public Section section(String name) {
+    for (Section section : sections) {
+      if (section.name.equals(name)) {
+        return section;
+      }
+    }
+    Section section = new Section(name);
+    sections.add(section);
+    return section;
+  }
+
+  /**
+   * Hook the profiler into the {@link CommandScheduler}. Must be called after all button bindings
+   * are configured so the marker runs at the end of button polling.
+   */
+  public void bindScheduler() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    scheduler.getDefaultButtonLoop().bind(() -> commandMark = Logger.getRealTimestamp());
+    scheduler.onCommandExecute(this::commandExecuted);
+  }
+
+  private void commandExecuted(Command command) {
+    long now = Logger.getRealTimestamp();
+    String name = command.getName();
+    Section section = commandSections.get(name);
+    if (section == null) {
+      section = section(name + ".execute()");
+      commandSections.put(name, section);
+    }
+    section.record((now - commandMark) / 1000.0);
+    commandMark = now;
+  }
+
+  /** Mark the start of a robot loop. Call at the top of {@code loopFunc()}. */
+  public void startCycle() {
+    cycleStart = Logger.getRealTimestamp();
+  }
+
+  /** Mark the end of a robot loop. Call at the bottom of {@code loopFunc()}. */
+  public void endCycle() {
+    total.record((Logger.getRealTimestamp() - cycleStart) / 1000.0);
+    Logger.recordOutput("LoopProfile/TotalMs", total.lastMs);
+
+    if (total.lastMs > ProfilerConstants.LOOP_BUDGET_MS) {
+      overrunCycles++;
+    } else {
+      overrunCycles = 0;
+    }
+    if (overrunCycles == ProfilerConstants.OVERRUN_CYCLES) {
+      FlightRecording.dumpOnFault("overrun");
+    }
+    overrunAlert.set(overrunCycles >= ProfilerConstants.OVERRUN_CYCLES);
+
+    if (++cycleCount % ProfilerConstants.REPORT_CYCLES == 0) {
+      for (Section section : sections) {
+        report(section);
+      }
+    }
+  }
+
+  /**
+   * Get the duration of the last complete loop.
+   *
+   * @return The last total loop time in milliseconds.
+   */
+  public double getLastCycleMs() {
+    return total.lastMs;
+  }
+
+  private void report(Section section) {
+    int n = section.size;
+    if (n == 0) {
+      return;
+    }
+    System.arraycopy(section.window, 0, scratch, 0, n);
+    Arrays.sort(scratch, 0, n);
+    Logger.recordOutput(section.p50Key, percentile(n, 0.50));
+    Logger.recordOutput(section.p95Key, percentile(n, 0.95));
+    Logger.recordOutput(section.p99Key, percentile(n, 0.99));
+    Logger.recordOutput(section.maxKey, scratch[n - 1]);
+  }
+
+  private double percentile(int n, double quantile) {
+    int index = (int) Math.ceil(quantile * n) - 1;
+    return scratch[Math.max(0, Math.min(n - 1, index))];
+  }
+}
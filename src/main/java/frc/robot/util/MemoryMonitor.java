@@ -0,0 +1,286 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants.MemoryConstants;
+import frc.robot.util.Alert.AlertType;
+import frc.robot.util.RobotLog.Tag;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Per-loop memory telemetry driven from {@code robotPeriodic()}.
+ *
+ * <p>Records the bytes allocated by the main robot thread each loop, GC pauses that landed in each
+ * loop, and which robot modes and commands allocate the most. GC pauses arrive on the JMX
+ * notification thread and are handed to the main loop through atomic counters.
+ *
+ * <p>A leak detector fits a line through the old generation left over after each full GC. Young
+ * collections are skipped, since the old generation grows with promoted objects between full GCs on
+ * a healthy heap. If that floor keeps growing faster than {@link
+ * MemoryConstants#LEAK_SLOPE_BYTES_PER_SECOND} an alert is raised.
+ */
+public class MemoryMonitor {
+  private final com.sun.management.ThreadMXBean threadBean;
+  private final long mainThreadId = Thread.currentThread().getId();
+  private final boolean allocationSupported;
+
+  private final AtomicLong gcCount = new AtomicLong();
+  private final AtomicLong gcPauseMicros = new AtomicLong();
+  private final AtomicLong gcMaxPauseMicros = new AtomicLong();
+  private volatile long loopIndex = 0;
+  private volatile long lastGcLoop = -1;
+
+  private long lastGcCount = 0;
+  private long lastGcPauseMicros = 0;
+  private long lastAllocatedBytes = 0;
+  private long commandMarkBytes = 0;
+
+  // Old generation pools, or every heap pool for a collector without generations
+  private final Set<String> floorPools = new HashSet<>();
+  private final boolean generational;
+
+  // Old generation after full GC samples, written by the notification thread
+  private final double[] floorTimes = new double[MemoryConstants.LEAK_WINDOW];
+  private final double[] floorBytes = new double[MemoryConstants.LEAK_WINDOW];
+  private int floorCount = 0;
+  private int floorNext = 0;
+
+  private final Map<Command, long[]> commandBytes = new HashMap<>();
+  private final long[] modeBytes = new long[Mode.values().length];
+
+  private final Alert leakAlert =
+      new Alert(
+          "Heap usage after GC keeps growing, possible memory leak. Check Memory/ logs.",
+          AlertType.WARNING);
+
+  private double heapFloorSlope = 0;
+
+  private enum Mode {
+    DISABLED,
+    AUTONOMOUS,
+    TELEOP,
+    TEST;
+
+    private final String key = "Memory/Mode/" + name() + "/AllocatedBytes";
+  }
+
+  /**
+   * Creates the memory monitor. Must be constructed on the main robot thread, which is the thread
+   * whose allocations are measured.
+   */
+  public MemoryMonitor() {
+    var bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean sunBean
+        && sunBean.isThreadAllocatedMemorySupported()) {
+      threadBean = sunBean;
+      threadBean.setThreadAllocatedMemoryEnabled(true);
+      allocationSupported = true;
+      lastAllocatedBytes = threadBean.getThreadAllocatedBytes(mainThreadId);
+    } else {
+      threadBean = null;
+      allocationSupported = false;
+      RobotLog.info(Tag.MEMORY, "Thread allocation counters unavailable on this JVM");
+    }
+
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      String name = pool.getName();
+      if (pool.getType() == MemoryType.HEAP && (name.contains("Old") || name.contains("Tenured"))) {
+        floorPools.add(name);
+      }
+    }
+    generational = !floorPools.isEmpty();
+    if (!generational) {
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        if (pool.getType() == MemoryType.HEAP) {
+          floorPools.add(pool.getName());
+        }
+      }
+    }
+
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (gc instanceof NotificationEmitter emitter) {
+        emitter.addNotificationListener(this::handleGcNotification, null, null);
+      }
+    }
+  }
+
+  /** Hook per-command allocation tracking into the {@link CommandScheduler}. */
+  public void bindScheduler() {
+    if (!allocationSupported) {
+      return;
+    }
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    scheduler.getDefaultButtonLoop().bind(() -> commandMarkBytes = allocatedBytes());
+    scheduler.onCommandExecute(this::commandExecuted);
+  }
+
+  private void commandExecuted(Command command) {
+    long now = allocatedBytes();
+    long[] total = commandBytes.get(command);
+    if (total == null) {
+      total = new long[1];
+      commandBytes.put(command, total);
+    }
+    total[0] += now - commandMarkBytes;
+    commandMarkBytes = now;
+  }
+
+  /** Runs on the JMX notification thread. */
+  private void handleGcNotification(Notification notification, Object handback) {
+    if (!notification
+        .getType()
+        .equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+      return;
+    }
+    var info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    long pauseMicros = info.getGcInfo().getDuration() * 1000;
+    gcCount.incrementAndGet();
+    gcPauseMicros.addAndGet(pauseMicros);
+    gcMaxPauseMicros.accumulateAndGet(pauseMicros, Math::max);
+    lastGcLoop = loopIndex;
+
+    if (generational && !isFullCollection(info)) {
+      return;
+    }
+    long used = 0;
+    for (var pool : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+      if (floorPools.contains(pool.getKey())) {
+        used += pool.getValue().getUsed();
+      }
+    }
+    synchronized (floorBytes) {
+      floorTimes[floorNext] = info.getGcInfo().getEndTime() / 1000.0;
+      floorBytes[floorNext] = used;
+      floorNext = (floorNext + 1) % floorBytes.length;
+      if (floorCount < floorBytes.length) {
+        floorCount++;
+      }
+    }
+  }
+
+  /**
+   * Whether a GC collected the old generation, from its action such as {@code "end of major GC"} or
+   * the collector name such as {@code "G1 Old Generation"} or {@code "MarkSweepCompact"}.
+   */
+  private static boolean isFullCollection(GarbageCollectionNotificationInfo info) {
+    String action = info.getGcAction().toLowerCase(Locale.ROOT);
+    String name = info.getGcName().toLowerCase(Locale.ROOT);
+    return action.contains("major")
+        || name.contains("major")
+        || name.contains("old")
+        || name.contains("marksweep");
+  }
+
+  /** Record this loop's memory telemetry. Call once at the end of {@code robotPeriodic()}. */
+  public void periodic() {
+    long loop = loopIndex;
+
+    if (allocationSupported) {
+      long allocated = allocatedBytes();
+      long loopBytes = allocated - lastAllocatedBytes;
+      lastAllocatedBytes = allocated;
+      Mode mode = currentMode();
+      modeBytes[mode.ordinal()] += loopBytes;
+      Logger.recordOutput("Memory/AllocatedBytesPerLoop", loopBytes);
+      Logger.recordOutput(mode.key, modeBytes[mode.ordinal()]);
+    }
+
+    long count = gcCount.get();
+    long pause = gcPauseMicros.get();
+    Logger.recordOutput("Memory/GCCount", count);
+    Logger.recordOutput("Memory/GCsThisLoop", count - lastGcCount);
+    Logger.recordOutput("Memory/GCPauseThisLoopMs", (pause - lastGcPauseMicros) / 1000.0);
+    Logger.recordOutput("Memory/GCMaxPauseMs", gcMaxPauseMicros.get() / 1000.0);
+    Logger.recordOutput("Memory/LastGCLoop", lastGcLoop);
+
+    // The heap floor only moves when a full GC completes, the slope is unchanged otherwise
+    if (count != lastGcCount) {
+      heapFloorSlope = computeHeapFloorSlope();
+      leakAlert.set(heapFloorSlope > MemoryConstants.LEAK_SLOPE_BYTES_PER_SECOND);
+    }
+    lastGcCount = count;
+    lastGcPauseMicros = pause;
+
+    Runtime runtime = Runtime.getRuntime();
+    Logger.recordOutput("Memory/HeapUsedBytes", runtime.totalMemory() - runtime.freeMemory());
+    Logger.recordOutput("Memory/HeapFloorSlopeBytesPerSec", heapFloorSlope);
+
+    loopIndex = loop + 1;
+  }
+
+  /**
+   * Log the total bytes each command has allocated so far. This walks every command seen, so call
+   * it occasionally, such as on disable, rather than every loop.
+   */
+  public void reportCommands() {
+    for (var entry : commandBytes.entrySet()) {
+      Logger.recordOutput(
+          "Memory/Commands/" + entry.getKey().getName() + "/AllocatedBytes", entry.getValue()[0]);
+    }
+  }
+
+  private long allocatedBytes() {
+    return threadBean.getThreadAllocatedBytes(mainThreadId);
+  }
+
+  private static Mode currentMode() {
+    if (DriverStation.isDisabled()) {
+      return Mode.DISABLED;
+    } else if (DriverStation.isAutonomous()) {
+      return Mode.AUTONOMOUS;
+    } else if (DriverStation.isTest()) {
+      return Mode.TEST;
+    }
+    return Mode.TELEOP;
+  }
+
+  /**
+   * Least-squares slope of the old generation left after each full GC over the leak window.
+   *
+   * @return Growth of the heap floor in bytes per second, 0 until the window is full.
+   */
+  private double computeHeapFloorSlope() {
+    synchronized (floorBytes) {
+      int n = floorCount;
+      if (n < floorBytes.length) {
+        return 0;
+      }
+      double meanT = 0;
+      double meanB = 0;
+      for (int i = 0; i < n; i++) {
+        meanT += floorTimes[i];
+        meanB += floorBytes[i];
+      }
+      meanT /= n;
+      meanB /= n;
+      double covariance = 0;
+      double variance = 0;
+      for (int i = 0; i < n; i++) {
+        double dt = floorTimes[i] - meanT;
+        covariance += dt * (floorBytes[i] - meanB);
+        variance += dt * dt;
+      }
+      return variance > 0 ? covariance / variance : 0;
+    }
+  }
+}
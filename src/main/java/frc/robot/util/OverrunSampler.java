@@ -0,0 +1,200 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.Constants;
+import frc.robot.Constants.OverrunConstants;
+import frc.robot.Constants.ProfilerConstants;
+import frc.robot.util.RobotLog.Tag;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Samples the robot loop's stack while a loop runs past {@link ProfilerConstants#LOOP_BUDGET_MS},
+ * so overruns come with a cause instead of just the watchdog's message.
+ *
+ * <p>The main thread marks the start and end of each loop. A low priority daemon thread sleeps
+ * until the budget runs out, then takes up to {@link OverrunConstants#MAX_SAMPLES_PER_LOOP} stack
+ * traces of the main thread, {@link OverrunConstants#SAMPLE_INTERVAL_MS} apart, for as long as the
+ * loop keeps running. Loops within budget are never sampled, so this costs nothing until something
+ * overruns.
+ *
+ * <p>Each sample is folded into one {@code outer;...;inner} line and counted. At most {@link
+ * OverrunConstants#MAX_STACKS} distinct stacks are kept, and samples of any others are counted
+ * together. {@link #flush()} logs the counts under {@code Overrun/} and writes them to the USB
+ * stick in the folded format flame graph tools read.
+ */
+public class OverrunSampler {
+  private static final String OTHER_STACKS = "[other stacks]";
+
+  private final Thread mainThread = Thread.currentThread();
+  private final long budgetMicros = (long) (ProfilerConstants.LOOP_BUDGET_MS * 1000);
+  private final long intervalMillis = Math.max(1, Math.round(OverrunConstants.SAMPLE_INTERVAL_MS));
+
+  // Start of the running loop in FPGA microseconds, or -1 between loops
+  private volatile long loopStart = -1;
+
+  // Guarded by itself, written by the sampler and drained by the main thread
+  private final Map<String, long[]> stacks = new HashMap<>();
+  private long overrunLoops = 0;
+  private long samples = 0;
+
+  /**
+   * Creates the sampler and starts its thread. Must be constructed on the main robot thread, which
+   * is the thread that is sampled. Nothing is started in replay, where loops are not timed.
+   */
+  public OverrunSampler() {
+    if (!OverrunConstants.ENABLED || Constants.CURRENT_MODE == Constants.Mode.REPLAY) {
+      return;
+    }
+    Thread thread = new Thread(this::run, "OverrunSampler");
+    thread.setDaemon(true);
+    thread.setPriority(Thread.MIN_PRIORITY);
+    thread.start();
+  }
+
+  /** Mark the start of a loop. Call first thing in the loop. */
+  public void loopStarted() {
+    loopStart = Logger.getTimestamp();
+  }
+
+  /** Mark the end of a loop. Call last thing in the loop. */
+  public void loopEnded() {
+    loopStart = -1;
+  }
+
+  private void run() {
+    ThreadPriorities.configureBackgroundThread();
+    long sampledLoop = -1;
+    int loopSamples = 0;
+    try {
+      while (true) {
+        long start = loopStart;
+        if (start < 0) {
+          Thread.sleep(intervalMillis);
+          continue;
+        }
+        long overrunAt = start + budgetMicros;
+        long now = RobotController.getFPGATime();
+        if (now < overrunAt) {
+          // Wake at the end of the budget, the loop will usually be over by then
+          long waitMicros = overrunAt - now;
+          Thread.sleep(waitMicros / 1000, (int) (waitMicros % 1000) * 1000);
+          continue;
+        }
+        if (start != sampledLoop) {
+          sampledLoop = start;
+          loopSamples = 0;
+          synchronized (stacks) {
+            overrunLoops++;
+          }
+        }
+        if (loopSamples < OverrunConstants.MAX_SAMPLES_PER_LOOP) {
+          StackTraceElement[] trace = mainThread.getStackTrace();
+          // Drop the sample if the loop finished while it was taken
+          if (loopStart == start) {
+            record(fold(trace));
+            loopSamples++;
+          }
+        }
+        Thread.sleep(intervalMillis);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Join the frames from the outermost robot loop call inwards, keeping the innermost. */
+  private static String fold(StackTraceElement[] trace) {
+    // Frames outside the loop, such as startCompetition(), are the same in every sample
+    int outer = trace.length - 1;
+    for (int i = trace.length - 1; i >= 0; i--) {
+      if (trace[i].getMethodName().equals("loopFunc")) {
+        outer = i;
+        break;
+      }
+    }
+    int inner = Math.max(0, outer - OverrunConstants.MAX_DEPTH + 1);
+    StringBuilder folded = new StringBuilder();
+    for (int i = outer; i >= inner; i--) {
+      if (folded.length() > 0) {
+        folded.append(';');
+      }
+      String className = trace[i].getClassName();
+      folded
+          .append(className.substring(className.lastIndexOf('.') + 1))
+          .append('.')
+          .append(trace[i].getMethodName());
+    }
+    return folded.toString();
+  }
+
+  private void record(String stack) {
+    synchronized (stacks) {
+      long[] count = stacks.get(stack);
+      if (count == null) {
+        if (stacks.size() >= OverrunConstants.MAX_STACKS) {
+          count = stacks.computeIfAbsent(OTHER_STACKS, key -> new long[1]);
+        } else {
+          count = new long[1];
+          stacks.put(stack, count);
+        }
+      }
+      count[0]++;
+      samples++;
+    }
+  }
+
+  /**
+   * Log and write the stacks sampled since the last flush, most sampled first, then start over.
+   * This sorts and writes a file, so call it on disable rather than while enabled.
+   */
+  public void flush() {
+    List<Map.Entry<String, long[]>> entries;
+    long loops;
+    long total;
+    synchronized (stacks) {
+      if (stacks.isEmpty()) {
+        return;
+      }
+      entries = new ArrayList<>(stacks.entrySet());
+      loops = overrunLoops;
+      total = samples;
+      stacks.clear();
+      overrunLoops = 0;
+      samples = 0;
+    }
+    entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+    String[] lines = new String[entries.size()];
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = entries.get(i).getKey() + " " + entries.get(i).getValue()[0];
+    }
+
+    Logger.recordOutput("Overrun/Loops", loops);
+    Logger.recordOutput("Overrun/Samples", total);
+    Logger.recordOutput("Overrun/FoldedStacks", lines);
+    RobotLog.info(
+        Tag.OVERRUN, loops + " loops over budget, most sampled: " + entries.get(0).getKey());
+
+    Path directory = Paths.get(OverrunConstants.DIRECTORY);
+    if (Files.isDirectory(directory)) {
+      Path file = directory.resolve("overruns_" + Logger.getTimestamp() + ".folded");
+      try {
+        Files.write(file, List.of(lines));
+        RobotLog.info(Tag.OVERRUN, "Wrote " + file);
+      } catch (IOException e) {
+        RobotLog.warn(Tag.OVERRUN, "Could not write " + file + ": " + e.getMessage());
+      }
+    }
+  }
+}
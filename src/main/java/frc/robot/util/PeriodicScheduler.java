@@ -0,0 +1,119 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants;
+import frc.robot.util.RobotLog.Tag;
+import java.util.ArrayList;
+import java.util.List;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Runs periodic work that does not need to happen every robot loop at a lower, declared rate.
+ *
+ * <p>Each task asks for a rate, which is rounded to a whole number of {@link Constants#LOOP_PERIOD}
+ * ticks, and is given a phase within its period. Phases are picked so a new task shares as few
+ * ticks as possible with the slower tasks already registered, so diagnostics spread out instead of
+ * piling onto the same loop.
+ *
+ * <p>Every run is timed with a {@link LoopProfiler.Section} of the task's name. The slack, the
+ * task's time budget minus the time it took, is logged under {@code Scheduler/}.
+ */
+public class PeriodicScheduler {
+  private static PeriodicScheduler instance;
+
+  private final List<Task> tasks = new ArrayList<>();
+  private long tick = 0;
+
+  /** A task run every {@code divisor} ticks. */
+  private static class Task {
+    private final Runnable action;
+    private final int divisor;
+    private final int phase;
+    private final double budgetMs;
+    private final LoopProfiler.Section section;
+    private final String slackKey;
+
+    private Task(String name, Runnable action, int divisor, int phase, double budgetMs) {
+      this.action = action;
+      this.divisor = divisor;
+      this.phase = phase;
+      this.budgetMs = budgetMs;
+      section = LoopProfiler.getInstance().section(name);
+      slackKey = "Scheduler/" + name + "/SlackMs";
+    }
+  }
+
+  private PeriodicScheduler() {}
+
+  /**
+   * Get the scheduler instance.
+   *
+   * @return The {@link PeriodicScheduler} singleton.
+   */
+  public static PeriodicScheduler getInstance() {
+    if (instance == null) {
+      instance = new PeriodicScheduler();
+    }
+    return instance;
+  }
+
+  /**
+   * Register a task.
+   *
+   * @param name Name to profile and log the task under.
+   * @param rateHz How often to run the task. Rates above the loop rate run every loop.
+   * @param budgetMs Time the task is expected to fit in, used to report its slack.
+   * @param action The work to run.
+   */
+  public void addTask(String name, double rateHz, double budgetMs, Runnable action) {
+    int divisor = Math.max(1, (int) Math.round(1.0 / (rateHz * Constants.LOOP_PERIOD)));
+    int phase = 0;
+    if (divisor > 1) {
+      int fewestShared = Integer.MAX_VALUE;
+      for (int candidate = 0; candidate < divisor; candidate++) {
+        int shared = sharedTicks(divisor, candidate);
+        if (shared < fewestShared) {
+          fewestShared = shared;
+          phase = candidate;
+        }
+      }
+    }
+    tasks.add(new Task(name, action, divisor, phase, budgetMs));
+    RobotLog.info(Tag.SCHEDULER, name + " every " + divisor + " loops at phase " + phase);
+  }
+
+  /** Count the slower tasks that would ever run in the same tick as the given period and phase. */
+  private int sharedTicks(int divisor, int phase) {
+    int shared = 0;
+    for (Task task : tasks) {
+      if (task.divisor > 1) {
+        // Two periodic ticks coincide somewhere iff their phases agree modulo the gcd of periods
+        int gcd = gcd(divisor, task.divisor);
+        if (phase % gcd == task.phase % gcd) {
+          shared++;
+        }
+      }
+    }
+    return shared;
+  }
+
+  private static int gcd(int a, int b) {
+    return b == 0 ? a : gcd(b, a % b);
+  }
+
+  /** Run the tasks due this tick. Call once per loop from {@code robotPeriodic()}. */
+  public void run() {
+    for (Task task : tasks) {
+      if (tick % task.divisor == task.phase) {
+        task.section.start();
+        task.action.run();
+        task.section.stop();
+        Logger.recordOutput(task.slackKey, task.budgetMs - task.section.getLastMs());
+      }
+    }
+    tick++;
+  }
+}
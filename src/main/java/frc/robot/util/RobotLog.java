@@ -0,0 +1,233 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import frc.robot.Constants.LoggingConstants;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Console logging that never writes to stdout on the calling thread.
+ *
+ * <p>On the roboRIO stdout goes out through netconsole and can block the robot loop. Messages are
+ * instead put on a lock-free queue and printed by a low priority writer thread every {@link
+ * LoggingConstants#WRITER_PERIOD_MS}. The queue holds at most {@link
+ * LoggingConstants#QUEUE_CAPACITY} messages, and messages that arrive while it is full are dropped
+ * and counted.
+ *
+ * <p>Each {@link Tag} has its own minimum {@link Level}, and messages below it are discarded before
+ * they are queued. A message that repeats the tag's previous one within {@link
+ * LoggingConstants#REPEAT_INTERVAL} seconds is also discarded on the calling thread, costing one
+ * comparison and a counter increment, and the number held back is printed with the next message
+ * that gets through.
+ */
+public final class RobotLog {
+  /** Message severity, lowest first. */
+  public enum Level {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR
+  }
+
+  /** Message source, printed in brackets before each message. */
+  public enum Tag {
+    ROBOT(LoggingConstants.DEFAULT_LEVEL),
+    BINDS(LoggingConstants.BINDS_LEVEL),
+    AUTO(LoggingConstants.AUTO_LEVEL),
+    SWERVE(LoggingConstants.SWERVE_LEVEL),
+    VISION(LoggingConstants.VISION_LEVEL),
+    INTAKE(LoggingConstants.DEFAULT_LEVEL),
+    CONVEYOR(LoggingConstants.DEFAULT_LEVEL),
+    DUMP(LoggingConstants.DEFAULT_LEVEL),
+    CLIMB(LoggingConstants.DEFAULT_LEVEL),
+    ALERT(LoggingConstants.DEFAULT_LEVEL),
+    COMMANDS(LoggingConstants.DEFAULT_LEVEL),
+    TELEMETRY(LoggingConstants.DEFAULT_LEVEL),
+    SCHEDULER(LoggingConstants.DEFAULT_LEVEL),
+    THREADS(LoggingConstants.DEFAULT_LEVEL),
+    MEMORY(LoggingConstants.DEFAULT_LEVEL),
+    WARMUP(LoggingConstants.DEFAULT_LEVEL),
+    OVERRUN(LoggingConstants.DEFAULT_LEVEL),
+    JFR(LoggingConstants.DEFAULT_LEVEL),
+    LOG(LoggingConstants.DEFAULT_LEVEL);
+
+    private volatile Level level;
+
+    // Repeat tracking, shared by every thread logging under the tag
+    private final AtomicReference<Queued> lastQueued = new AtomicReference<>();
+    private final AtomicInteger repeats = new AtomicInteger();
+
+    Tag(Level level) {
+      this.level = level;
+    }
+
+    /**
+     * Change the tag's minimum level at runtime.
+     *
+     * @param level Messages below this level are discarded.
+     */
+    public void setLevel(Level level) {
+      this.level = level;
+    }
+  }
+
+  private record Entry(Tag tag, Level level, String message, int repeats) {}
+
+  /** The last message a tag queued, and when. */
+  private record Queued(String message, long nanos) {}
+
+  private static final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger queued = new AtomicInteger();
+  private static final AtomicLong dropped = new AtomicLong();
+  private static final long repeatNanos = (long) (LoggingConstants.REPEAT_INTERVAL * 1e9);
+
+  static {
+    Thread writer = new Thread(RobotLog::write, "RobotLog");
+    writer.setDaemon(true);
+    writer.setPriority(Thread.MIN_PRIORITY);
+    writer.start();
+  }
+
+  private RobotLog() {}
+
+  /**
+   * Log a debugging message.
+   *
+   * @param tag Where the message comes from.
+   * @param message The message.
+   */
+  public static void debug(Tag tag, String message) {
+    log(tag, Level.DEBUG, message);
+  }
+
+  /**
+   * Log an informational message.
+   *
+   * @param tag Where the message comes from.
+   * @param message The message.
+   */
+  public static void info(Tag tag, String message) {
+    log(tag, Level.INFO, message);
+  }
+
+  /**
+   * Log a warning.
+   *
+   * @param tag Where the message comes from.
+   * @param message The message.
+   */
+  public static void warn(Tag tag, String message) {
+    log(tag, Level.WARN, message);
+  }
+
+  /**
+   * Log an error.
+   *
+   * @param tag Where the message comes from.
+   * @param message The message.
+   */
+  public static void error(Tag tag, String message) {
+    log(tag, Level.ERROR, message);
+  }
+
+  /**
+   * Check whether a message would be logged, to skip building expensive messages.
+   *
+   * @param tag Where the message comes from.
+   * @param level The message's level.
+   * @return True if the tag logs messages at the level.
+   */
+  public static boolean isEnabled(Tag tag, Level level) {
+    return level.compareTo(tag.level) >= 0;
+  }
+
+  /**
+   * Queue a message for the writer thread.
+   *
+   * @param tag Where the message comes from.
+   * @param level The message's level.
+   * @param message The message.
+   */
+  public static void log(Tag tag, Level level, String message) {
+    if (!isEnabled(tag, level)) {
+      return;
+    }
+    long now = System.nanoTime();
+    while (true) {
+      Queued last = tag.lastQueued.get();
+      if (last != null && now - last.nanos() < repeatNanos && message.equals(last.message())) {
+        tag.repeats.incrementAndGet();
+        return;
+      }
+      if (tag.lastQueued.compareAndSet(last, new Queued(message, now))) {
+        break;
+      }
+    }
+    if (queued.incrementAndGet() > LoggingConstants.QUEUE_CAPACITY) {
+      queued.decrementAndGet();
+      dropped.incrementAndGet();
+      return;
+    }
+    queue.offer(new Entry(tag, level, message, tag.repeats.getAndSet(0)));
+  }
+
+  /**
+   * Get the number of messages dropped because the queue was full.
+   *
+   * @return Messages dropped since the robot started.
+   */
+  public static long getDroppedCount() {
+    return dropped.get();
+  }
+
+  private static void write() {
+    ThreadPriorities.configureBackgroundThread();
+    StringBuilder batch = new StringBuilder();
+    long reportedDropped = 0;
+    while (true) {
+      Entry entry;
+      while ((entry = queue.poll()) != null) {
+        queued.decrementAndGet();
+        append(batch, entry);
+      }
+      long droppedNow = dropped.get();
+      if (droppedNow != reportedDropped) {
+        batch
+            .append("[LOG] Queue full, dropped ")
+            .append(droppedNow - reportedDropped)
+            .append(" messages")
+            .append(System.lineSeparator());
+        reportedDropped = droppedNow;
+      }
+      if (batch.length() > 0) {
+        System.out.print(batch);
+        batch.setLength(0);
+      }
+      try {
+        TimeUnit.MILLISECONDS.sleep(LoggingConstants.WRITER_PERIOD_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static void append(StringBuilder batch, Entry entry) {
+    batch.append('[').append(entry.tag().name()).append("] ");
+    if (entry.level() == Level.WARN || entry.level() == Level.ERROR) {
+      batch.append(entry.level().name()).append(": ");
+    }
+    batch.append(entry.message());
+    if (entry.repeats() > 0) {
+      batch.append(" (previous message repeated ").append(entry.repeats()).append(" more times)");
+    }
+    batch.append(System.lineSeparator());
+  }
+}
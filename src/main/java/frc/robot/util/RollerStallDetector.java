@@ -0,0 +1,72 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants.MechanismConstants;
+
+/**
+ * Tells a NEO roller stalled against a note apart from one that is only starting up.
+ *
+ * <p>A NEO draws stall-level current for a few tenths of a second every time it starts, so current
+ * alone reports a note on every start. A stall here is current above a threshold while the roller
+ * turns slower than a fraction of the free speed its applied output should give. It is only
+ * reported once the roller has reached {@link MechanismConstants#SPUN_UP_FRACTION} of that free
+ * speed, or has been running for the spin-up time, so a note already in the rollers when they start
+ * is still found.
+ */
+public class RollerStallDetector {
+  private final double stallCurrentAmps;
+  private final double stallSpeedFraction;
+  private final double spinUpTime;
+  private boolean running = false;
+  private boolean spunUp = false;
+  private double startTime = 0;
+
+  /**
+   * Creates a stall detector.
+   *
+   * @param stallCurrentAmps Current above which the roller may be stalled.
+   * @param stallSpeedFraction Fraction of the expected free speed below which it may be stalled.
+   * @param spinUpTime Seconds after starting before a roller that never got up to speed is judged.
+   */
+  public RollerStallDetector(
+      double stallCurrentAmps, double stallSpeedFraction, double spinUpTime) {
+    this.stallCurrentAmps = stallCurrentAmps;
+    this.stallSpeedFraction = stallSpeedFraction;
+    this.spinUpTime = spinUpTime;
+  }
+
+  /**
+   * Check the roller for a stall. Call once per loop, also while the roller is stopped, so a
+   * restart is seen.
+   *
+   * @param isRunning Whether the roller is being driven for the stall to be watched for.
+   * @param appliedOutput Duty cycle applied to the motor.
+   * @param velocityRPM Motor velocity in RPM.
+   * @param currentAmps Motor output current in amps.
+   * @return True while the roller is stalled.
+   */
+  public boolean calculate(
+      boolean isRunning, double appliedOutput, double velocityRPM, double currentAmps) {
+    if (!isRunning) {
+      running = false;
+      return false;
+    }
+    if (!running) {
+      running = true;
+      spunUp = false;
+      startTime = Timer.getFPGATimestamp();
+    }
+
+    double freeSpeedRPM = Math.abs(appliedOutput) * MechanismConstants.NEO_FREE_SPEED_RPM;
+    double speedRPM = Math.abs(velocityRPM);
+    spunUp |= speedRPM >= freeSpeedRPM * MechanismConstants.SPUN_UP_FRACTION;
+    if (!spunUp && Timer.getFPGATimestamp() - startTime < spinUpTime) {
+      return false;
+    }
+    return currentAmps > stallCurrentAmps && speedRPM < freeSpeedRPM * stallSpeedFraction;
+  }
+}
@@ -0,0 +1,108 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.hardware.CANcoder;
+import com.revrobotics.CANSparkLowLevel.PeriodicFrame;
+import com.revrobotics.CANSparkMax;
+import frc.robot.Constants.DrivebaseConstants;
+import frc.robot.Constants.HardwareConstants;
+
+/**
+ * Periodic status frame rates for each kind of SPARK MAX on the robot.
+ *
+ * <p>Every SPARK MAX broadcasts all of its status frames whether or not anything reads them. Each
+ * profile keeps the frames a mechanism actually uses at the rate it needs them, and slows the rest
+ * down. The estimated frame rate of every configured device is registered with
+ * {@link CanBusMonitor} so it can be compared against the bus budget.
+ *
+ * <p>Each profile sets the periods, in milliseconds, of status 0 (applied output and faults),
+ * status 1 (velocity, temperature, voltage and current) and status 2 (position). No motor on the
+ * robot has an analog sensor, alternate encoder or duty cycle encoder wired to it, so statuses 3
+ * to 6 are always set to {@link #UNUSED}.
+ */
+public enum StatusFrameProfile {
+  /** Swerve drive and angle motors, position once per robot loop for loop-rate odometry. */
+  SWERVE_MODULE(10, 20, 20),
+  /**
+   * Swerve drive and angle motors, position once per sample of the 200 Hz odometry thread enabled
+   * by {@link DrivebaseConstants#HIGH_FREQUENCY_ODOMETRY}.
+   */
+  SWERVE_ODOMETRY(10, 20, 5),
+  /** Flywheel motors, fast velocity for spin-up checks. */
+  FLYWHEEL(10, 10, 500),
+  /** Conveyor motors, velocity and current for telemetry only. */
+  CONVEYOR(20, 50, 500),
+  /** Intake motors, which are run open loop and only logged. */
+  INTAKE(20, 100, 500);
+
+  /** Period for frames nothing reads, the slowest the SPARK MAX allows. */
+  public static final int UNUSED = 65535;
+
+  private static final PeriodicFrame[] FRAMES = {
+    PeriodicFrame.kStatus0,
+    PeriodicFrame.kStatus1,
+    PeriodicFrame.kStatus2,
+    PeriodicFrame.kStatus3,
+    PeriodicFrame.kStatus4,
+    PeriodicFrame.kStatus5,
+    PeriodicFrame.kStatus6
+  };
+
+  private final int[] periodsMs;
+
+  StatusFrameProfile(int status0Ms, int status1Ms, int status2Ms) {
+    periodsMs = new int[] {status0Ms, status1Ms, status2Ms, UNUSED, UNUSED, UNUSED, UNUSED};
+  }
+
+  /**
+   * Apply the profile to a controller and register its frame rate with {@link CanBusMonitor}.
+   *
+   * @param name Device name to log the frame budget under.
+   * @param spark The controller to configure.
+   */
+  public void apply(String name, CANSparkMax spark) {
+    for (int i = 0; i < FRAMES.length; i++) {
+      spark.setPeriodicFramePeriod(FRAMES[i], periodsMs[i]);
+    }
+    CanBusMonitor.getInstance().registerDevice(name, getFramesPerSecond());
+  }
+
+  /**
+   * Estimate the status frames per second a controller sends with this profile.
+   *
+   * @return Frames per second.
+   */
+  public double getFramesPerSecond() {
+    double framesPerSecond = 0;
+    for (int periodMs : periodsMs) {
+      framesPerSecond += 1000.0 / periodMs;
+    }
+    return framesPerSecond;
+  }
+
+  /**
+   * Slow a swerve CANcoder down to the signals YAGSL reads, and register its frame rate with {@link
+   * CanBusMonitor}.
+   *
+   * <p>The absolute position is kept at {@link HardwareConstants#CANCODER_POSITION_HZ} and the
+   * magnet health, which YAGSL checks before every read, at {@link
+   * HardwareConstants#CANCODER_HEALTH_HZ}. Every other signal is turned off.
+   *
+   * @param name Device name to log the frame budget under.
+   * @param encoder The encoder to configure.
+   */
+  public static void applyCANcoder(String name, CANcoder encoder) {
+    BaseStatusSignal.setUpdateFrequencyForAll(
+        HardwareConstants.CANCODER_POSITION_HZ, encoder.getAbsolutePosition());
+    BaseStatusSignal.setUpdateFrequencyForAll(
+        HardwareConstants.CANCODER_HEALTH_HZ, encoder.getMagnetHealth());
+    encoder.optimizeBusUtilization();
+    CanBusMonitor.getInstance()
+        .registerDevice(
+            name, HardwareConstants.CANCODER_POSITION_HZ + HardwareConstants.CANCODER_HEALTH_HZ);
+  }
+}
@@ -0,0 +1,304 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants.TelemetryConstants;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.littletonrobotics.junction.Logger;
+
+/**
+ * Registry of typed dashboard values, published to the {@code SmartDashboard} table through cached
+ * NetworkTables publishers.
+ *
+ * <p>Code gets a {@link DoubleValue}, {@link BooleanValue} or {@link StringValue} at construction
+ * and calls {@code set()} as often as it likes, which only stores the value. {@link #periodic()}
+ * then publishes values that changed, at most once per {@link TelemetryConstants#DEFAULT_PERIOD}
+ * each and by default at most {@link TelemetryConstants#PUBLISH_BUDGET} per loop in total, so
+ * dashboard output never does map lookups or formatting in command code. Values held back by the
+ * budget go first the next loop, and the last value set is always the one published.
+ */
+public class Telemetry {
+  private static Telemetry instance;
+
+  private final NetworkTable table = NetworkTableInstance.getDefault().getTable("SmartDashboard");
+  private final Map<String, Value> values = new HashMap<>();
+  private final List<Value> ordered = new ArrayList<>();
+  private int next = 0;
+  private int publishBudget = TelemetryConstants.PUBLISH_BUDGET;
+  private int publishedLastLoop = 0;
+
+  /** A dashboard value that publishes itself when it changes. */
+  public abstract static class Value {
+    private final String key;
+    private final double period;
+    private boolean dirty = false;
+    private double lastPublish = Double.NEGATIVE_INFINITY;
+
+    private Value(String key, double period) {
+      this.key = key;
+      this.period = period;
+    }
+
+    /** Mark the value for publishing. */
+    void changed() {
+      dirty = true;
+    }
+
+    /** Send the stored value to NetworkTables. */
+    abstract void publish();
+  }
+
+  /** A number on the dashboard. */
+  public static class DoubleValue extends Value {
+    private final DoublePublisher publisher;
+    private double value = Double.NaN;
+
+    private DoubleValue(NetworkTable table, String key, double period) {
+      super(key, period);
+      publisher = table.getDoubleTopic(key).publish();
+    }
+
+    /**
+     * Set the value to publish.
+     *
+     * @param value The new value.
+     */
+    public void set(double value) {
+      if (Double.compare(value, this.value) != 0) {
+        this.value = value;
+        changed();
+      }
+    }
+
+    @Override
+    void publish() {
+      publisher.set(value);
+    }
+  }
+
+  /** A boolean on the dashboard. */
+  public static class BooleanValue extends Value {
+    private final BooleanPublisher publisher;
+    private boolean value = false;
+    private boolean published = false;
+
+    private BooleanValue(NetworkTable table, String key, double period) {
+      super(key, period);
+      publisher = table.getBooleanTopic(key).publish();
+    }
+
+    /**
+     * Set the value to publish.
+     *
+     * @param value The new value.
+     */
+    public void set(boolean value) {
+      if (value != this.value || !published) {
+        this.value = value;
+        published = true;
+        changed();
+      }
+    }
+
+    @Override
+    void publish() {
+      publisher.set(value);
+    }
+  }
+
+  /**
+   * Text on the dashboard. The value is held as an object and only turned into a string when it is
+   * published, so unchanged values are never formatted.
+   */
+  public static class StringValue extends Value {
+    private final StringPublisher publisher;
+    private Object value;
+
+    private StringValue(NetworkTable table, String key, double period) {
+      super(key, period);
+      publisher = table.getStringTopic(key).publish();
+    }
+
+    /**
+     * Set the value to publish. Values are compared with {@code equals()}.
+     *
+     * @param value The new value, an immutable object whose {@code toString()} is published.
+     */
+    public void set(Object value) {
+      if (value == null ? this.value != null : !value.equals(this.value)) {
+        this.value = value;
+        changed();
+      }
+    }
+
+    @Override
+    void publish() {
+      publisher.set(String.valueOf(value));
+    }
+  }
+
+  private Telemetry() {}
+
+  /**
+   * Get the registry instance.
+   *
+   * @return The {@link Telemetry} singleton.
+   */
+  public static Telemetry getInstance() {
+    if (instance == null) {
+      instance = new Telemetry();
+    }
+    return instance;
+  }
+
+  /**
+   * Get or create a number published at the default rate. Call this once at construction and keep
+   * the returned value, not on every loop.
+   *
+   * @param key Dashboard key.
+   * @return The {@link DoubleValue} for the key.
+   */
+  public DoubleValue getDouble(String key) {
+    return getDouble(key, TelemetryConstants.DEFAULT_PERIOD);
+  }
+
+  /**
+   * Get or create a number.
+   *
+   * @param key Dashboard key.
+   * @param period Shortest time between publishes in seconds. Ignored if the key already exists.
+   * @return The {@link DoubleValue} for the key.
+   */
+  public DoubleValue getDouble(String key, double period) {
+    Value value = values.get(key);
+    if (value == null) {
+      return register(new DoubleValue(table, key, period));
+    }
+    return cast(value, DoubleValue.class);
+  }
+
+  /**
+   * Get or create a boolean published at the default rate. Call this once at construction and keep
+   * the returned value, not on every loop.
+   *
+   * @param key Dashboard key.
+   * @return The {@link BooleanValue} for the key.
+   */
+  public BooleanValue getBoolean(String key) {
+    return getBoolean(key, TelemetryConstants.DEFAULT_PERIOD);
+  }
+
+  /**
+   * Get or create a boolean.
+   *
+   * @param key Dashboard key.
+   * @param period Shortest time between publishes in seconds. Ignored if the key already exists.
+   * @return The {@link BooleanValue} for the key.
+   */
+  public BooleanValue getBoolean(String key, double period) {
+    Value value = values.get(key);
+    if (value == null) {
+      return register(new BooleanValue(table, key, period));
+    }
+    return cast(value, BooleanValue.class);
+  }
+
+  /**
+   * Get or create text published at the default rate. Call this once at construction and keep the
+   * returned value, not on every loop.
+   *
+   * @param key Dashboard key.
+   * @return The {@link StringValue} for the key.
+   */
+  public StringValue getString(String key) {
+    return getString(key, TelemetryConstants.DEFAULT_PERIOD);
+  }
+
+  /**
+   * Get or create text.
+   *
+   * @param key Dashboard key.
+   * @param period Shortest time between publishes in seconds. Ignored if the key already exists.
+   * @return The {@link StringValue} for the key.
+   */
+  public StringValue getString(String key, double period) {
+    Value value = values.get(key);
+    if (value == null) {
+      return register(new StringValue(table, key, period));
+    }
+    return cast(value, StringValue.class);
+  }
+
+  private <T extends Value> T register(T value) {
+    values.put(value.key, value);
+    ordered.add(value);
+    return value;
+  }
+
+  private static <T extends Value> T cast(Value value, Class<T> type) {
+    if (!type.isInstance(value)) {
+      throw new IllegalArgumentException(
+          "Telemetry key " + value.key + " is already a " + value.getClass().getSimpleName());
+    }
+    return type.cast(value);
+  }
+
+  /**
+   * Change how many values may be published per loop.
+   *
+   * @param publishBudget Values published per loop at most.
+   */
+  public void setPublishBudget(int publishBudget) {
+    this.publishBudget = publishBudget;
+  }
+
+  /**
+   * Get how many values the last {@link #periodic()} published.
+   *
+   * @return Values published by the last call.
+   */
+  public int getPublishedLastLoop() {
+    return publishedLastLoop;
+  }
+
+  /** Publish changed values within the rate limits and loop budget. Call once per loop. */
+  public void periodic() {
+    double now = Timer.getFPGATimestamp();
+    int published = 0;
+    int deferred = 0;
+    int count = ordered.size();
+    // Start where the budget ran out last loop so every value gets its turn
+    int start = next;
+    for (int i = 0; i < count; i++) {
+      int index = (start + i) % count;
+      Value value = ordered.get(index);
+      if (!value.dirty || now - value.lastPublish < value.period) {
+        continue;
+      }
+      if (published >= publishBudget) {
+        if (deferred++ == 0) {
+          next = index;
+        }
+        continue;
+      }
+      value.publish();
+      value.dirty = false;
+      value.lastPublish = now;
+      published++;
+    }
+    publishedLastLoop = published;
+    Logger.recordOutput("Telemetry/PublishedThisLoop", published);
+    Logger.recordOutput("Telemetry/Deferred", deferred);
+  }
+}
@@ -0,0 +1,122 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import frc.robot.Constants.ProfilerConstants;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.util.RobotLog.Tag;
+import org.littletonrobotics.junction.Logger;
+import swervelib.telemetry.SwerveDriveTelemetry;
+import swervelib.telemetry.SwerveDriveTelemetry.TelemetryVerbosity;
+
+/**
+ * Switches how much telemetry the robot publishes while it runs.
+ *
+ * <p>Each mode has a default {@link Tier}: {@code HIGH} in test mode and simulation, {@code LOW}
+ * with the FMS attached, and {@code NORMAL} otherwise. When the loop takes more than {@link
+ * TelemetryConstants#DOWNGRADE_FRACTION} of its budget for {@link
+ * TelemetryConstants#DOWNGRADE_CYCLES} loops in a row, the tier drops one step. It steps back up,
+ * never past the mode's default, after {@link TelemetryConstants#RESTORE_CYCLES} loops under {@link
+ * TelemetryConstants#RESTORE_FRACTION} of the budget.
+ *
+ * <p>The tier sets YAGSL's telemetry verbosity, which {@code SwerveSubsystem} reads every loop when
+ * it publishes the module telemetry, and the {@link Telemetry} publish budget. Changes are logged
+ * under {@code Telemetry/Tier} and to the console.
+ */
+public class TelemetryTiers {
+  /** How much telemetry to publish, lowest first. */
+  public enum Tier {
+    LOW(TelemetryVerbosity.LOW, TelemetryConstants.LOW_PUBLISH_BUDGET),
+    NORMAL(TelemetryVerbosity.INFO, TelemetryConstants.PUBLISH_BUDGET),
+    HIGH(TelemetryVerbosity.HIGH, TelemetryConstants.PUBLISH_BUDGET);
+
+    private final TelemetryVerbosity swerveVerbosity;
+    private final int publishBudget;
+
+    Tier(TelemetryVerbosity swerveVerbosity, int publishBudget) {
+      this.swerveVerbosity = swerveVerbosity;
+      this.publishBudget = publishBudget;
+    }
+  }
+
+  private Tier tier;
+  private Tier modeDefault;
+  private int slowCycles = 0;
+  private int fastCycles = 0;
+
+  /** Creates the tiers and applies the default for the current mode. */
+  public TelemetryTiers() {
+    modeDefault = modeDefault();
+    apply(modeDefault, "startup");
+  }
+
+  /**
+   * Get the active tier.
+   *
+   * @return The {@link Tier} in effect.
+   */
+  public Tier getTier() {
+    return tier;
+  }
+
+  /**
+   * Update the tier from the mode and the last loop time. Call once per loop after the loop
+   * profiler's cycle ends.
+   *
+   * @param loopMs Duration of the last loop in milliseconds.
+   */
+  public void periodic(double loopMs) {
+    Tier mode = modeDefault();
+    if (mode != modeDefault) {
+      modeDefault = mode;
+      slowCycles = 0;
+      fastCycles = 0;
+      apply(mode, "mode change");
+    }
+
+    if (loopMs > ProfilerConstants.LOOP_BUDGET_MS * TelemetryConstants.DOWNGRADE_FRACTION) {
+      slowCycles++;
+      fastCycles = 0;
+    } else if (loopMs < ProfilerConstants.LOOP_BUDGET_MS * TelemetryConstants.RESTORE_FRACTION) {
+      fastCycles++;
+      slowCycles = 0;
+    } else {
+      slowCycles = 0;
+      fastCycles = 0;
+    }
+
+    if (slowCycles >= TelemetryConstants.DOWNGRADE_CYCLES && tier.ordinal() > 0) {
+      slowCycles = 0;
+      apply(Tier.values()[tier.ordinal() - 1], "loop near budget");
+    } else if (fastCycles >= TelemetryConstants.RESTORE_CYCLES
+        && tier.ordinal() < modeDefault.ordinal()) {
+      fastCycles = 0;
+      apply(Tier.values()[tier.ordinal() + 1], "loop has slack");
+    }
+  }
+
+  private static Tier modeDefault() {
+    if (DriverStation.isTest() || RobotBase.isSimulation()) {
+      return Tier.HIGH;
+    } else if (DriverStation.isFMSAttached()) {
+      return Tier.LOW;
+    }
+    return Tier.NORMAL;
+  }
+
+  private void apply(Tier newTier, String reason) {
+    if (newTier == tier) {
+      return;
+    }
+    RobotLog.info(Tag.TELEMETRY, "Tier set to " + newTier + " (" + reason + ")");
+    tier = newTier;
+    SwerveDriveTelemetry.verbosity = newTier.swerveVerbosity;
+    Telemetry.getInstance().setPublishBudget(newTier.publishBudget);
+    Logger.recordOutput("Telemetry/Tier", newTier.name());
+    Logger.recordOutput("Telemetry/TierReason", reason);
+  }
+}
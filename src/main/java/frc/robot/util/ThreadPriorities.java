@@ -0,0 +1,65 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+import frc.robot.Constants.ThreadConstants;
+import frc.robot.util.RobotLog.Tag;
+
+/**
+ * Applies the thread priorities for {@link ThreadConstants#REALTIME_MODE}.
+ *
+ * <p>In real-time mode the HAL notifier thread, the robot loop and control notifiers run with
+ * real-time scheduling, so NetworkTables, the log writer and other background work cannot delay
+ * them. Background workers drop to the lowest normal priority. With the mode off every call here
+ * does nothing, which keeps the default scheduling for comparison.
+ *
+ * <p>Each method applies to the calling thread, so notifier threads call theirs from their own
+ * callback.
+ */
+public final class ThreadPriorities {
+  private ThreadPriorities() {}
+
+  /**
+   * Get the name of the active mode, for logging next to jitter measurements.
+   *
+   * @return {@code "RealTime"} or {@code "Default"}.
+   */
+  public static String getMode() {
+    return ThreadConstants.REALTIME_MODE ? "RealTime" : "Default";
+  }
+
+  /** Raise the HAL notifier and the calling robot loop thread. Call from {@code robotInit()}. */
+  public static void configureMainThread() {
+    if (!ThreadConstants.REALTIME_MODE) {
+      return;
+    }
+    boolean notifierSet =
+        Notifier.setHALThreadPriority(true, ThreadConstants.HAL_NOTIFIER_PRIORITY);
+    boolean mainSet = Threads.setCurrentThreadPriority(true, ThreadConstants.MAIN_PRIORITY);
+    RobotLog.info(
+        Tag.THREADS,
+        "Real-time mode, HAL notifier "
+            + (notifierSet ? "raised" : "unchanged")
+            + ", robot loop "
+            + (mainSet ? "raised" : "unchanged"));
+  }
+
+  /** Raise the calling control notifier thread. */
+  public static void configureControlThread() {
+    if (ThreadConstants.REALTIME_MODE) {
+      Threads.setCurrentThreadPriority(true, ThreadConstants.CONTROL_PRIORITY);
+    }
+  }
+
+  /** Lower the calling background thread. */
+  public static void configureBackgroundThread() {
+    if (ThreadConstants.REALTIME_MODE) {
+      Threads.setCurrentThreadPriority(false, 0);
+      Thread.currentThread().setPriority(Thread.MIN_PRIORITY);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MatchAnalyzerTest {
+  private static final long SECOND = 1_000_000;
+  private static final long LOOP = 20_000;
+
+  @TempDir Path directory;
+
+  /**
+   * Write a 20 s enabled match the way AdvantageKit does, with a record only when a value changes:
+   * the robot drives for 2 s and the flywheel spins for 1 s, and both log a new value every loop
+   * while moving.
+   */
+  private Path writeMatch() {
+    DataLog log = new DataLog(directory.toString(), "match.wpilog");
+    BooleanLogEntry enabled = new BooleanLogEntry(log, "/DriverStation/Enabled", 0);
+    DoubleLogEntry speed = new DoubleLogEntry(log, "/RealOutputs/Drive/SpeedMetersPerSecond", 0);
+    DoubleLogEntry flywheel = new DoubleLogEntry(log, "/Conveyor/FlywheelAppliedOutput", 0);
+
+    enabled.append(false, 0);
+    speed.append(0, 0);
+    flywheel.append(0, 0);
+    enabled.append(true, SECOND);
+    for (long t = 3 * SECOND; t < 5 * SECOND; t += LOOP) {
+      speed.append(2.0 + (t / LOOP % 2) * 0.001, t);
+    }
+    speed.append(0, 5 * SECOND);
+    for (long t = 11 * SECOND; t < 12 * SECOND; t += LOOP) {
+      flywheel.append(0.8 + (t / LOOP % 2) * 0.001, t);
+    }
+    flywheel.append(0, 12 * SECOND);
+    enabled.append(false, 21 * SECOND);
+    // Disabled records must not count
+    flywheel.append(1.0, 22 * SECOND);
+    enabled.append(false, 30 * SECOND);
+    log.close();
+    return directory.resolve("match.wpilog");
+  }
+
+  @Test
+  void weightsValuesByHowLongTheyHeld() throws IOException {
+    MatchSummary summary = MatchAnalyzer.analyze(writeMatch());
+
+    assertEquals(20.0, summary.enabledSeconds(), 1e-6);
+    // Flywheel on for 1 s of 20 s, not for 50 of its 51 enabled records
+    assertEquals(0.05, summary.flywheelDuty(), 1e-3);
+    assertEquals(0.8 * 0.05, summary.flywheelMeanOutput(), 1e-3);
+    // Stopped for 18 s of 20 s, so the median is 0 and only the top 10% is driving speed
+    assertTrue(summary.driveSpeedP50() < 0.05, "p50 " + summary.driveSpeedP50());
+    assertTrue(summary.driveSpeedP95() > 1.9, "p95 " + summary.driveSpeedP95());
+    assertEquals(2.001, summary.driveSpeedMax(), 1e-9);
+  }
+}
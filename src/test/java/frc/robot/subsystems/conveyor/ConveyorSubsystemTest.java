@@ -0,0 +1,41 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.conveyor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConveyorSubsystemTest {
+  @BeforeEach
+  void setUp() {
+    assertTrue(HAL.initialize(500, 0));
+    SimHooks.pauseTiming();
+  }
+
+  @AfterEach
+  void tearDown() {
+    CommandScheduler.getInstance().unregisterAllSubsystems();
+    SimHooks.resumeTiming();
+  }
+
+  @Test
+  void emptyConveyorIsNotStagedOnStartUp() {
+    ConveyorSubsystem conveyor = new ConveyorSubsystem(new ConveyorIOSim());
+    for (int i = 0; i < 50; i++) {
+      conveyor.runConveyor(false);
+      conveyor.periodic();
+      assertFalse(conveyor.isNoteStaged());
+      SimHooks.stepTiming(Constants.LOOP_PERIOD);
+    }
+  }
+}
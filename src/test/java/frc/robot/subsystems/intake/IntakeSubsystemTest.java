@@ -0,0 +1,102 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.subsystems.intake;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.Constants;
+import frc.robot.Constants.AutonConstants;
+import frc.robot.Constants.MechanismConstants;
+import frc.robot.Constants.MechanismConstants.Intake;
+import frc.robot.commands.auto.IntakeAuto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntakeSubsystemTest {
+  @BeforeEach
+  void setUp() {
+    assertTrue(HAL.initialize(500, 0));
+    SimHooks.pauseTiming();
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+  }
+
+  @AfterEach
+  void tearDown() {
+    CommandScheduler.getInstance().cancelAll();
+    CommandScheduler.getInstance().unregisterAllSubsystems();
+    SimHooks.resumeTiming();
+  }
+
+  private static void step(double seconds) {
+    for (int i = 0; i < Math.round(seconds / Constants.LOOP_PERIOD); i++) {
+      CommandScheduler.getInstance().run();
+      SimHooks.stepTiming(Constants.LOOP_PERIOD);
+    }
+  }
+
+  @Test
+  void emptyIntakeRunsUntilTimeout() {
+    IntakeSubsystem intake = new IntakeSubsystem(new IntakeIOSim());
+    IntakeAuto intakeAuto = new IntakeAuto(intake);
+    CommandScheduler.getInstance().schedule(intakeAuto);
+
+    // Start-up current is well over the note threshold for the first few tenths of a second
+    step(AutonConstants.INTAKE_TIMEOUT - 0.5);
+    assertFalse(intake.hasAcquiredNote());
+    assertTrue(intakeAuto.isScheduled());
+  }
+
+  @Test
+  void noteAfterSpinUpIsAcquired() {
+    StallingIntakeIO io = new StallingIntakeIO();
+    IntakeSubsystem intake = new IntakeSubsystem(io);
+    CommandScheduler.getInstance().schedule(new IntakeAuto(intake));
+
+    step(1.0);
+    assertFalse(intake.hasAcquiredNote());
+    io.stalled = true;
+    step(Intake.NOTE_DEBOUNCE + 0.1);
+    assertTrue(intake.hasAcquiredNote());
+  }
+
+  @Test
+  void noteJammedAtStartIsAcquiredAfterSpinUpTime() {
+    StallingIntakeIO io = new StallingIntakeIO();
+    io.stalled = true;
+    IntakeSubsystem intake = new IntakeSubsystem(io);
+    CommandScheduler.getInstance().schedule(new IntakeAuto(intake));
+
+    step(Intake.SPIN_UP_TIME - 0.1);
+    assertFalse(intake.hasAcquiredNote());
+    step(Intake.NOTE_DEBOUNCE + 0.2);
+    assertTrue(intake.hasAcquiredNote());
+  }
+
+  /** Sushi roller that runs at free speed, or slow and at high current when a note is in it. */
+  private static class StallingIntakeIO implements IntakeIO {
+    private double sushiSpeed = 0.0;
+    private boolean stalled = false;
+
+    @Override
+    public void updateInputs(IntakeIOInputs inputs) {
+      double freeSpeedRPM = sushiSpeed * MechanismConstants.NEO_FREE_SPEED_RPM;
+      inputs.sushiAppliedOutput = sushiSpeed;
+      inputs.sushiVelocityRPM = stalled ? freeSpeedRPM * 0.2 : freeSpeedRPM;
+      inputs.sushiCurrentAmps = sushiSpeed == 0 ? 0 : stalled ? 60.0 : 2.0;
+    }
+
+    @Override
+    public void setSushiSpeed(double speed) {
+      sushiSpeed = speed;
+    }
+  }
+}
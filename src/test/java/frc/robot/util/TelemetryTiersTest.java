@@ -0,0 +1,94 @@
+// Copyright (c) FIRST and other WPILib contributors.
+// Open Source Software; you can modify and/or share it under the terms of
+// the WPILib BSD license file in the root directory of this project.
+
+package frc.robot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.robot.Constants.ProfilerConstants;
+import frc.robot.Constants.TelemetryConstants;
+import frc.robot.util.TelemetryTiers.Tier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import swervelib.telemetry.SwerveDriveTelemetry;
+import swervelib.telemetry.SwerveDriveTelemetry.TelemetryVerbosity;
+
+class TelemetryTiersTest {
+  private static final int VALUE_COUNT = 3 * TelemetryConstants.PUBLISH_BUDGET;
+
+  private final Telemetry.DoubleValue[] values = new Telemetry.DoubleValue[VALUE_COUNT];
+  private double nextValue = 0;
+
+  @BeforeEach
+  void setUp() {
+    assertTrue(HAL.initialize(500, 0));
+    SimHooks.pauseTiming();
+    DriverStationSim.setEnabled(true);
+    DriverStationSim.notifyNewData();
+    for (int i = 0; i < VALUE_COUNT; i++) {
+      values[i] = Telemetry.getInstance().getDouble("TelemetryTiersTest/" + i);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    Telemetry.getInstance().setPublishBudget(TelemetryConstants.PUBLISH_BUDGET);
+    SimHooks.resumeTiming();
+  }
+
+  /** Change every test value, wait out their rate limit and publish once. */
+  private int publishAll() {
+    nextValue++;
+    for (Telemetry.DoubleValue value : values) {
+      value.set(nextValue);
+    }
+    SimHooks.stepTiming(TelemetryConstants.DEFAULT_PERIOD);
+    Telemetry.getInstance().periodic();
+    return Telemetry.getInstance().getPublishedLastLoop();
+  }
+
+  /** Report loops over the downgrade threshold until the tier drops once. */
+  private static void slowLoops(TelemetryTiers tiers) {
+    double slowMs = ProfilerConstants.LOOP_BUDGET_MS;
+    for (int i = 0; i < TelemetryConstants.DOWNGRADE_CYCLES; i++) {
+      tiers.periodic(slowMs);
+    }
+  }
+
+  @Test
+  void slowLoopsLowerPublishedVolume() {
+    TelemetryTiers tiers = new TelemetryTiers();
+    assertEquals(Tier.HIGH, tiers.getTier());
+    assertEquals(TelemetryVerbosity.HIGH, SwerveDriveTelemetry.verbosity);
+    assertEquals(TelemetryConstants.PUBLISH_BUDGET, publishAll());
+
+    slowLoops(tiers);
+    assertEquals(Tier.NORMAL, tiers.getTier());
+    assertEquals(TelemetryVerbosity.INFO, SwerveDriveTelemetry.verbosity);
+
+    slowLoops(tiers);
+    assertEquals(Tier.LOW, tiers.getTier());
+    assertEquals(TelemetryVerbosity.LOW, SwerveDriveTelemetry.verbosity);
+    assertEquals(TelemetryConstants.LOW_PUBLISH_BUDGET, publishAll());
+  }
+
+  @Test
+  void fastLoopsRestorePublishedVolume() {
+    TelemetryTiers tiers = new TelemetryTiers();
+    slowLoops(tiers);
+    slowLoops(tiers);
+    assertEquals(TelemetryConstants.LOW_PUBLISH_BUDGET, publishAll());
+
+    for (int i = 0; i < 2 * TelemetryConstants.RESTORE_CYCLES; i++) {
+      tiers.periodic(0);
+    }
+    assertEquals(Tier.HIGH, tiers.getTier());
+    assertEquals(TelemetryConstants.PUBLISH_BUDGET, publishAll());
+  }
+}